@@ -0,0 +1,30 @@
+package by.ganevich.cache;
+
+import by.ganevich.entity.Currency;
+import by.ganevich.money.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts amounts with the cross-rate matrix of the current reference data
+ * snapshot. The matrix is indexed by currency ordinal and sized from the
+ * exchangeRates table, so a new rate row needs no code change here; a
+ * currency without one is rejected by {@link ReferenceDataCache}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrencyConverter {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public long convert(long minorUnits, int fromCurrency, int toCurrency) {
+        if (fromCurrency == toCurrency) {
+            return minorUnits;
+        }
+        return Money.applyRate(minorUnits, referenceDataCache.getCrossRate(fromCurrency, toCurrency));
+    }
+
+    public long convert(long minorUnits, Currency fromCurrency, Currency toCurrency) {
+        return convert(minorUnits, fromCurrency.ordinal(), toCurrency.ordinal());
+    }
+}
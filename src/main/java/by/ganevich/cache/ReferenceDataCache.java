@@ -0,0 +1,212 @@
+package by.ganevich.cache;
+
+import by.ganevich.entity.ClientType;
+import by.ganevich.entity.Commission;
+import by.ganevich.entity.Rate;
+import by.ganevich.repository.CommissionRepository;
+import by.ganevich.repository.RateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-mostly snapshot of exchange rates and commissions. Readers never lock:
+ * a stale snapshot is rebuilt from the database and swapped in atomically.
+ * Only one reader rebuilds it at a time, the others wait for that load.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    private static final int CLIENT_TYPES = ClientType.values().length;
+
+    private final RateRepository rateRepository;
+    private final CommissionRepository commissionRepository;
+
+    @Value("${reference.cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> loading = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public long getRate(int currency) {
+        long[] rates = current().rates;
+        if (currency < 0 || currency >= rates.length || rates[currency] == 0) {
+            throw new IllegalStateException("Exchange rate of currency " + currency + " is not found");
+        }
+        return rates[currency];
+    }
+
+    /**
+     * Rejects a currency without a rate row the same way as {@link #getRate(int)},
+     * whether its ordinal lies beyond the matrix or its cell holds no rate.
+     */
+    public double getCrossRate(int fromCurrency, int toCurrency) {
+        double[][] crossRates = current().crossRates;
+        if (fromCurrency < 0 || toCurrency < 0 || fromCurrency >= crossRates.length
+                || toCurrency >= crossRates.length || Double.isNaN(crossRates[fromCurrency][toCurrency])) {
+            throw new IllegalStateException("Exchange rate from currency " + fromCurrency + " to currency "
+                    + toCurrency + " is not found");
+        }
+        return crossRates[fromCurrency][toCurrency];
+    }
+
+    public long getCommission(int clientType, Long bankId) {
+        long[] commissions = current().commissions.get(bankId);
+        if (commissions == null || commissions[clientType] < 0) {
+            throw new IllegalStateException("Commission of bank " + bankId + " for client type " + clientType
+                    + " is not found");
+        }
+        return commissions[clientType];
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion();
+                }
+            });
+        } else {
+            bumpVersion();
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("invalidations", invalidations.sum());
+        metrics.put("version", version.get());
+        return metrics;
+    }
+
+    private void bumpVersion() {
+        invalidations.increment();
+        version.incrementAndGet();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        long currentVersion = version.get();
+        if (current != null && current.version == currentVersion
+                && System.currentTimeMillis() - current.loadedAt < ttlMs) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        while (true) {
+            CompletableFuture<Snapshot> running = loading.get();
+            if (running != null) {
+                Snapshot loaded = await(running);
+                // a load started before the last invalidation is not fresh enough for this reader
+                if (loaded.version >= currentVersion) {
+                    return loaded;
+                }
+                continue;
+            }
+            CompletableFuture<Snapshot> own = new CompletableFuture<>();
+            if (loading.compareAndSet(null, own)) {
+                return loadInto(own);
+            }
+        }
+    }
+
+    private Snapshot loadInto(CompletableFuture<Snapshot> own) {
+        try {
+            Snapshot loaded = load(version.get());
+            snapshot.set(loaded);
+            loading.set(null);
+            own.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            loading.set(null);
+            own.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Snapshot load(long snapshotVersion) {
+        List<Rate> rateRows = rateRepository.findAll();
+        int currencies = 0;
+        for (Rate rate : rateRows) {
+            currencies = Math.max(currencies, rate.getCurrency() + 1);
+        }
+        long[] rates = new long[currencies];
+        for (Rate rate : rateRows) {
+            rates[rate.getCurrency()] = rate.getRate();
+        }
+
+        double[][] crossRates = new double[currencies][currencies];
+        for (int from = 0; from < currencies; from++) {
+            for (int to = 0; to < currencies; to++) {
+                crossRates[from][to] = rates[from] == 0 || rates[to] == 0
+                        ? Double.NaN
+                        : (double) rates[from] / rates[to];
+            }
+        }
+
+        Map<Long, long[]> commissions = new HashMap<>();
+        for (Commission commission : commissionRepository.findAll()) {
+            long[] byClientType = commissions.computeIfAbsent(commission.getBank().getId(), bankId -> {
+                long[] empty = new long[CLIENT_TYPES];
+                Arrays.fill(empty, -1);
+                return empty;
+            });
+            byClientType[commission.getClientType()] = commission.getCommission();
+        }
+
+        log.info("Reference data snapshot " + snapshotVersion + " is loaded.");
+        return new Snapshot(snapshotVersion, System.currentTimeMillis(), rates, crossRates, commissions);
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final long loadedAt;
+        private final long[] rates;
+        private final double[][] crossRates;
+        private final Map<Long, long[]> commissions;
+
+        private Snapshot(long version, long loadedAt, long[] rates, double[][] crossRates,
+                         Map<Long, long[]> commissions) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.rates = rates;
+            this.crossRates = crossRates;
+            this.commissions = commissions;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package by.ganevich.cache;
+
+import by.ganevich.entity.Bank;
+import by.ganevich.entity.Commission;
+import by.ganevich.entity.Rate;
+import by.ganevich.entity.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Eviction and statistics of the Hibernate second-level cache of reference
+ * entities. Hibernate keeps entity regions and cached queries in step with its
+ * own writes, but not the inverse Bank.commissions collection when a commission
+ * is written on its own, so every bank or commission write evicts it after commit.
+ * Hit and miss counters need {@code hibernate.generate_statistics}, which is off
+ * unless the {@code statistics} profile is active; only evictions are counted otherwise.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCache {
+
+    private static final String COMMISSIONS_REGION = Bank.class.getName() + ".commissions";
+    private static final Map<String, String> REGIONS = new LinkedHashMap<>();
+
+    static {
+        REGIONS.put("bank", Bank.class.getName());
+        REGIONS.put("bankCommissions", COMMISSIONS_REGION);
+        REGIONS.put("commission", Commission.class.getName());
+        REGIONS.put("rate", Rate.class.getName());
+        REGIONS.put("role", Role.class.getName());
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final LongAdder evictions = new LongAdder();
+
+    public void evictBankCommissions() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictBankCommissions();
+                }
+            });
+        } else {
+            doEvictBankCommissions();
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            metrics.put("evictions", evictions.sum());
+            return metrics;
+        }
+        metrics.put("hits", statistics.getSecondLevelCacheHitCount());
+        metrics.put("misses", statistics.getSecondLevelCacheMissCount());
+        metrics.put("puts", statistics.getSecondLevelCachePutCount());
+        metrics.put("queryHits", statistics.getQueryCacheHitCount());
+        metrics.put("queryMisses", statistics.getQueryCacheMissCount());
+        metrics.put("queryPuts", statistics.getQueryCachePutCount());
+        metrics.put("evictions", evictions.sum());
+        for (Map.Entry<String, String> region : REGIONS.entrySet()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region.getValue());
+            if (regionStatistics == null) {
+                continue;
+            }
+            String name = region.getKey();
+            metrics.put(name + ".hits", regionStatistics.getHitCount());
+            metrics.put(name + ".misses", regionStatistics.getMissCount());
+            metrics.put(name + ".entries", regionStatistics.getElementCountInMemory());
+        }
+        return metrics;
+    }
+
+    private void doEvictBankCommissions() {
+        sessionFactory().getCache().evictCollectionData(COMMISSIONS_REGION);
+        evictions.increment();
+        log.info("Cached commissions of banks are evicted.");
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -1,5 +1,8 @@
 package by.ganevich.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cache.jcache.ConfigSettings;
 import org.hibernate.cfg.Environment;
 import org.hibernate.jpa.HibernatePersistenceProvider;
 import org.springframework.beans.factory.FactoryBean;
@@ -8,7 +11,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -49,14 +51,72 @@ public class DatabaseConfig {
     @Value("${spring.liquibase.change-log}")
     private String changeLogFile;
 
+    @Value("${hibernate.jdbc.batch_size}")
+    private String batchSize;
+
+    @Value("${hibernate.cache.use_second_level_cache:true}")
+    private String useSecondLevelCache;
+
+    @Value("${hibernate.cache.use_query_cache:true}")
+    private String useQueryCache;
+
+    @Value("${hibernate.cache.config:ehcache.xml}")
+    private String cacheConfig;
+
+    @Value("${hibernate.generate_statistics:false}")
+    private String generateStatistics;
+
+    @Value("${datasource.pool.maximum-size}")
+    private int maximumPoolSize;
+
+    @Value("${datasource.pool.minimum-idle}")
+    private int minimumIdle;
+
+    @Value("${datasource.pool.connection-timeout-ms}")
+    private long connectionTimeout;
+
+    @Value("${datasource.pool.idle-timeout-ms}")
+    private long idleTimeout;
+
+    @Value("${datasource.pool.max-lifetime-ms}")
+    private long maxLifetime;
+
+    @Value("${datasource.pool.leak-detection-threshold-ms}")
+    private long leakDetectionThreshold;
+
+    @Value("${datasource.statement-cache.prepare-threshold}")
+    private String prepareThreshold;
+
+    @Value("${datasource.statement-cache.queries}")
+    private String preparedStatementCacheQueries;
+
+    @Value("${datasource.statement-cache.size-mib}")
+    private String preparedStatementCacheSizeMiB;
+
     @Bean
+    public PoolMetrics poolMetrics() {
+        return new PoolMetrics();
+    }
+
+    @Bean(destroyMethod = "close")
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setUsername(username);
-        dataSource.setPassword(password);
-        dataSource.setUrl(url);
-        dataSource.setDriverClassName(driver);
-        return dataSource;
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("bank-system-pool");
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setJdbcUrl(url);
+        config.setDriverClassName(driver);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(minimumIdle);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setIdleTimeout(idleTimeout);
+        config.setMaxLifetime(maxLifetime);
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMiB);
+        config.setMetricsTrackerFactory(poolMetrics());
+        return new HikariDataSource(config);
     }
 
 //    @Bean
@@ -83,6 +143,7 @@ public class DatabaseConfig {
         final LocalContainerEntityManagerFactoryBean localContainerEntityManagerFactoryBean =
                 new LocalContainerEntityManagerFactoryBean();
         localContainerEntityManagerFactoryBean.setPackagesToScan(packagesToScan);
+        localContainerEntityManagerFactoryBean.setMappingResources("projections.hbm.xml");
         localContainerEntityManagerFactoryBean
                 .setPersistenceProviderClass(HibernatePersistenceProvider.class);
         localContainerEntityManagerFactoryBean.setDataSource(dataSource);
@@ -99,6 +160,16 @@ public class DatabaseConfig {
         Properties properties = new Properties();
         properties.setProperty("hibernate.dialect", dialect);
         properties.put(Environment.SHOW_SQL, showSql);
+        properties.put(Environment.STATEMENT_BATCH_SIZE, batchSize);
+        properties.put(Environment.ORDER_INSERTS, "true");
+        properties.put(Environment.ORDER_UPDATES, "true");
+        properties.put(Environment.BATCH_VERSIONED_DATA, "true");
+        properties.put(Environment.USE_SECOND_LEVEL_CACHE, useSecondLevelCache);
+        properties.put(Environment.USE_QUERY_CACHE, useQueryCache);
+        properties.put(Environment.CACHE_REGION_FACTORY, "jcache");
+        properties.put(ConfigSettings.PROVIDER, "org.ehcache.jsr107.EhcacheCachingProvider");
+        properties.put(ConfigSettings.CONFIG_URI, cacheConfig);
+        properties.put(Environment.GENERATE_STATISTICS, generateStatistics);
         return properties;
     }
 
@@ -1,12 +1,10 @@
 package by.ganevich.controller;
 
 import by.ganevich.dto.BankDto;
-import by.ganevich.dto.ClientDto;
 import by.ganevich.entity.Bank;
 import by.ganevich.entity.BankAccount;
 import by.ganevich.entity.Client;
 import by.ganevich.mapper.interfaces.BankMapper;
-import by.ganevich.mapper.interfaces.ClientMapper;
 import by.ganevich.service.BankAccountService;
 import by.ganevich.service.BankService;
 import by.ganevich.service.ClientService;
@@ -36,18 +34,12 @@ public class BankController {
     private final CustomValidator<BankDto> bankValidator;
     private final BankMapper bankMapper;
     private final ClientService clientService;
-    private final ClientMapper clientMapper;
     private final BankAccountService bankAccountService;
 
     @GetMapping
     public String startPage(Model model) {
-        final List<Bank> banks = bankService.readAll();
-        List<BankDto> banksDto = bankMapper.toDtoList(banks);
-        model.addAttribute("banks", banksDto);
-
-        final List<Client> clients = clientService.readAll();
-        List<ClientDto> clientsDto = clientMapper.toDtoList(clients);
-        model.addAttribute("clients", clientsDto);
+        model.addAttribute("banks", bankService.readAllDtos());
+        model.addAttribute("clients", clientService.readAllDtos());
 
         return "index";
     }
@@ -79,8 +71,7 @@ public class BankController {
     )
     public ResponseEntity<List<BankDto>> read(Model model) {
         log.info("REST: Read banks is called");
-        final List<Bank> banks = bankService.readAll();
-        List<BankDto> banksDto = bankMapper.toDtoList(banks);
+        final List<BankDto> banksDto = bankService.readAllDtos();
         model.addAttribute("banks", banksDto);
 
         log.info("REST: reading of banks was successful");
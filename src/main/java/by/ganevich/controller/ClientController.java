@@ -3,11 +3,9 @@ package by.ganevich.controller;
 import by.ganevich.dto.BankAccountDto;
 import by.ganevich.dto.ClientDto;
 import by.ganevich.dto.RegistrationRequestDto;
-import by.ganevich.entity.BankAccount;
 import by.ganevich.entity.Client;
 import by.ganevich.entity.ClientType;
 import by.ganevich.entity.User;
-import by.ganevich.mapper.interfaces.BankAccountMapper;
 import by.ganevich.mapper.interfaces.ClientMapper;
 import by.ganevich.service.BankAccountService;
 import by.ganevich.service.ClientService;
@@ -41,7 +39,6 @@ public class ClientController {
     private final ClientMapper clientMapper;
 
     private final BankAccountService bankAccountService;
-    private final BankAccountMapper bankAccountMapper;
     private final UserService userService;
 
     @GetMapping(value = "/clients/{id}")
@@ -87,8 +84,7 @@ public class ClientController {
     )
     public ResponseEntity<List<ClientDto>> read() {
         log.info("REST: Read clients is called");
-        final List<Client> clients = clientService.readAll();
-        List<ClientDto> clientsDto = clientMapper.toDtoList(clients);
+        final List<ClientDto> clientsDto = clientService.readAllDtos();
         log.info("REST: Reading of clients was successful");
         return new ResponseEntity<>(clientsDto, HttpStatus.OK);
     }
@@ -104,8 +100,7 @@ public class ClientController {
         ClientDto clientDto = clientMapper.toDto(client.get());
         model.addAttribute("client", clientDto);
 
-        List<BankAccount> bankAccounts = bankAccountService.findBankAccountByClientId(id);
-        List<BankAccountDto> bankAccountsDto = bankAccountMapper.toDtoList(bankAccounts);
+        List<BankAccountDto> bankAccountsDto = bankAccountService.findBankAccountDtosByClientId(id);
 
         model.addAttribute("accounts", bankAccountsDto);
 
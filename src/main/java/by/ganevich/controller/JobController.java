@@ -0,0 +1,127 @@
+package by.ganevich.controller;
+
+import by.ganevich.dto.JobDto;
+import by.ganevich.job.ExportImportJobs;
+import by.ganevich.job.Job;
+import by.ganevich.job.JobScheduler;
+import by.ganevich.job.JobStatus;
+import by.ganevich.mapper.interfaces.JobMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@Slf4j
+@Tag(name = "Job controller", description = "To run export and import in background")
+public class JobController {
+
+    private static final String DELTA_MODE = "delta";
+
+    private final ExportImportJobs exportImportJobs;
+    private final JobScheduler jobScheduler;
+    private final JobMapper jobMapper;
+
+    @PostMapping(value = "/jobs/export")
+    @Operation(
+            summary = "Starting export",
+            description = "Allows to export all tables to a zip archive, mode=delta exports only new transactions"
+    )
+    public ResponseEntity<JobDto> export(
+            @RequestParam(name = "mode", required = false) @Parameter(description = "full or delta") String mode
+    ) {
+        log.info("REST: Export job is called");
+        return submitted(DELTA_MODE.equals(mode) ? exportImportJobs.exportDelta() : exportImportJobs.exportCsv());
+    }
+
+    @PostMapping(value = "/jobs/import")
+    @Operation(
+            summary = "Starting import",
+            description = "Allows to import a zip archive of csv files"
+    )
+    public ResponseEntity<JobDto> importCsv(
+            @RequestParam(name = "path", required = false) @Parameter(description = "path of archive") String path
+    ) {
+        log.info("REST: Import job is called");
+        return submitted(exportImportJobs.importCsv(path));
+    }
+
+    @PostMapping(value = "/jobs/snapshot/export")
+    @Operation(
+            summary = "Starting snapshot export",
+            description = "Allows to export transactions to a columnar binary snapshot"
+    )
+    public ResponseEntity<JobDto> exportSnapshot(
+            @RequestParam(name = "path", required = false) @Parameter(description = "path of snapshot") String path
+    ) {
+        log.info("REST: Snapshot export job is called");
+        return submitted(exportImportJobs.exportSnapshot(path));
+    }
+
+    @PostMapping(value = "/jobs/snapshot/import")
+    @Operation(
+            summary = "Starting snapshot import",
+            description = "Allows to restore transactions from a binary snapshot"
+    )
+    public ResponseEntity<JobDto> importSnapshot(
+            @RequestParam(name = "path", required = false) @Parameter(description = "path of snapshot") String path
+    ) {
+        log.info("REST: Snapshot import job is called");
+        return submitted(exportImportJobs.importSnapshot(path));
+    }
+
+    @GetMapping(value = "/jobs")
+    @Operation(
+            summary = "Reading jobs",
+            description = "Allows to read progress of queued, running and recent jobs"
+    )
+    public ResponseEntity<List<JobDto>> readJobs() {
+        log.info("REST: Read jobs is called");
+        return new ResponseEntity<>(jobMapper.toDtoList(jobScheduler.findAll()), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/jobs/{id}")
+    @Operation(
+            summary = "Reading job",
+            description = "Allows to read progress of job"
+    )
+    public ResponseEntity<JobDto> readJob(@PathVariable(name = "id") @Parameter(description = "id of job") Long id) {
+        log.info("REST: Read job is called");
+        Job job = jobScheduler.find(id);
+        if (job == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(jobMapper.toDto(job), HttpStatus.OK);
+    }
+
+    @DeleteMapping(value = "/jobs/{id}")
+    @Operation(
+            summary = "Cancelling job",
+            description = "Allows to cancel queued or running job"
+    )
+    public ResponseEntity<JobDto> cancelJob(@PathVariable(name = "id") @Parameter(description = "id of job") Long id) {
+        log.info("REST: Cancel job is called");
+        Job job = jobScheduler.cancel(id);
+        if (job == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(jobMapper.toDto(job), HttpStatus.OK);
+    }
+
+    private ResponseEntity<JobDto> submitted(Job job) {
+        HttpStatus status = job.getStatus() == JobStatus.REJECTED ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.ACCEPTED;
+        return new ResponseEntity<>(jobMapper.toDto(job), status);
+    }
+}
@@ -0,0 +1,81 @@
+package by.ganevich.controller;
+
+import by.ganevich.cache.ReferenceDataCache;
+import by.ganevich.cache.SecondLevelCache;
+import by.ganevich.config.PoolMetrics;
+import by.ganevich.engine.AccountLockManager;
+import by.ganevich.pipeline.TransferPipeline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@AllArgsConstructor
+@Slf4j
+@Tag(name = "Metrics controller", description = "To read runtime metrics")
+public class MetricsController {
+
+    private final AccountLockManager accountLockManager;
+    private final ReferenceDataCache referenceDataCache;
+    private final SecondLevelCache secondLevelCache;
+    private final TransferPipeline transferPipeline;
+    private final PoolMetrics poolMetrics;
+
+    @GetMapping(value = "/metrics/transfer-locks")
+    @Operation(
+            summary = "Reading transfer lock metrics",
+            description = "Allows to read lock contention and retry counters of transfers"
+    )
+    public ResponseEntity<Map<String, Long>> readTransferLocks() {
+        log.info("REST: Read transfer lock metrics is called");
+        return new ResponseEntity<>(accountLockManager.getMetrics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/metrics/reference-cache")
+    @Operation(
+            summary = "Reading reference data cache metrics",
+            description = "Allows to read hit and miss counters of the rate and commission cache"
+    )
+    public ResponseEntity<Map<String, Long>> readReferenceCache() {
+        log.info("REST: Read reference cache metrics is called");
+        return new ResponseEntity<>(referenceDataCache.getMetrics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/metrics/entity-cache")
+    @Operation(
+            summary = "Reading second-level cache metrics",
+            description = "Allows to read hit, miss and put counters of cached reference entities and queries, "
+                    + "counted only with the statistics profile or hibernate.generate_statistics=true"
+    )
+    public ResponseEntity<Map<String, Long>> readEntityCache() {
+        log.info("REST: Read entity cache metrics is called");
+        return new ResponseEntity<>(secondLevelCache.getMetrics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/metrics/transfer-pipeline")
+    @Operation(
+            summary = "Reading transfer pipeline metrics",
+            description = "Allows to read submission, deduplication and outcome counters of asynchronous transfers"
+    )
+    public ResponseEntity<Map<String, Long>> readTransferPipeline() {
+        log.info("REST: Read transfer pipeline metrics is called");
+        return new ResponseEntity<>(transferPipeline.getMetrics(), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/metrics/connection-pool")
+    @Operation(
+            summary = "Reading connection pool metrics",
+            description = "Allows to read active and idle connections, wait time and timeouts of the pool"
+    )
+    public ResponseEntity<Map<String, Long>> readConnectionPool() {
+        log.info("REST: Read connection pool metrics is called");
+        return new ResponseEntity<>(poolMetrics.getMetrics(), HttpStatus.OK);
+    }
+}
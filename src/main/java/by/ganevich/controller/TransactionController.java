@@ -1,10 +1,19 @@
 package by.ganevich.controller;
 
+import by.ganevich.dto.BatchTransferResultDto;
 import by.ganevich.dto.ConductTransactionDto;
 import by.ganevich.dto.FindTransactionDto;
+import by.ganevich.dto.TransactionPageDto;
+import by.ganevich.dto.TransferTicketDto;
 import by.ganevich.entity.Client;
-import by.ganevich.entity.Transaction;
+import by.ganevich.exception.IdempotencyKeyConflictException;
 import by.ganevich.mapper.interfaces.TransactionMapper;
+import by.ganevich.mapper.interfaces.TransferTicketMapper;
+import by.ganevich.money.Money;
+import by.ganevich.pagination.TransactionPage;
+import by.ganevich.pipeline.TransferPipeline;
+import by.ganevich.pipeline.TransferTicket;
+import by.ganevich.service.BatchTransferService;
 import by.ganevich.service.ClientService;
 import by.ganevich.service.TransactionService;
 import by.ganevich.validator.CustomValidator;
@@ -13,15 +22,20 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.sql.Date;
-import java.util.Set;
+import java.util.List;
 
 @Controller
 @AllArgsConstructor
@@ -34,6 +48,9 @@ public class TransactionController {
     private final TransactionMapper transactionMapper;
 
     private final ClientService clientService;
+    private final BatchTransferService batchTransferService;
+    private final TransferPipeline transferPipeline;
+    private final TransferTicketMapper transferTicketMapper;
 
     @GetMapping(value = "/transactions")
     public String getTransactionPage(Model model) {
@@ -58,14 +75,49 @@ public class TransactionController {
     ) {
 
         Client client = clientService.findClientByName(findTransactionDto.getClientName());
-        final Set<Transaction> transactions = transactionService
-                .readAllByDateAndSender(Date.valueOf(findTransactionDto.getDateBefore()), Date.valueOf(findTransactionDto.getDateAfter()), client);
+        final TransactionPage page = transactionService
+                .readPageBySender(Date.valueOf(findTransactionDto.getDateBefore()), Date.valueOf(findTransactionDto.getDateAfter()),
+                        client.getId(), findTransactionDto.getCursor());
 
-        model.addAttribute("trans", transactions);
+        model.addAttribute("trans", page.getTransactions());
+        model.addAttribute("query", findTransactionDto);
+        model.addAttribute("nextCursor", page.getNextCursor());
         log.info("REST: Reading of transactions was successful");
         return "transactionInfo";
     }
 
+    @GetMapping(value = "/transactions/history")
+    @Operation(
+            summary = "Reading transaction history",
+            description = "Allows to read transactions of client by date page by page, "
+                    + "the next page is read with the cursor of the previous one"
+    )
+    public ResponseEntity<TransactionPageDto> readHistory(
+            @RequestParam(name = "clientId") @Parameter(description = "id of client") Long clientId,
+            @RequestParam(name = "dateBefore") @Parameter(description = "first date, YYYY-MM-DD") String dateBefore,
+            @RequestParam(name = "dateAfter") @Parameter(description = "last date, YYYY-MM-DD") String dateAfter,
+            @RequestParam(name = "type", defaultValue = "all") @Parameter(description = "all, sent or received") String type,
+            @RequestParam(name = "cursor", required = false) @Parameter(description = "cursor of next page") String cursor
+    ) {
+        log.info("REST: Read transaction history is called");
+        TransactionPage page;
+        try {
+            Date from = Date.valueOf(dateBefore);
+            Date to = Date.valueOf(dateAfter);
+            if (type.equals("sent")) {
+                page = transactionService.readPageBySender(from, to, clientId, cursor);
+            } else if (type.equals("received")) {
+                page = transactionService.readPageByReceiver(from, to, clientId, cursor);
+            } else {
+                page = transactionService.readHistoryPage(from, to, clientId, cursor);
+            }
+        } catch (IllegalArgumentException e) {
+            log.info("REST: The input data of transaction history is invalid: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(transactionMapper.toPageDto(page), HttpStatus.OK);
+    }
+
     @PostMapping(value = "/transactions")
     @Operation(
             summary = "Сonducting transactions",
@@ -84,9 +136,73 @@ public class TransactionController {
         transactionService.sendMoney(
                         Integer.valueOf(conductTransactionDto.getSenderAccountNumber()),
                         Integer.valueOf(conductTransactionDto.getReceiverAccountNumber()),
-                        Double.valueOf(conductTransactionDto.getAmountOfMoney())
+                        Money.parse(conductTransactionDto.getAmountOfMoney())
                 );
         log.info("REST: Transaction was carried out successful");
         return "result";
     }
+
+    @PostMapping(value = "/transactions/batch")
+    @Operation(
+            summary = "Conducting batch of transactions",
+            description = "Allows to conduct many transactions at once and returns the result of each one"
+    )
+    public ResponseEntity<List<BatchTransferResultDto>> makeBatchTransaction(
+            @RequestBody @Parameter(description = "transactions to conduct") List<ConductTransactionDto> transfers
+    ) {
+        log.info("REST: Make batch transaction is called");
+        List<BatchTransferResultDto> results = batchTransferService.sendMoney(transfers);
+        log.info("REST: Batch transaction was carried out");
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/transactions/async")
+    @Operation(
+            summary = "Submitting transaction",
+            description = "Allows to submit transaction without waiting for it, repeated keys return the same ticket"
+    )
+    public ResponseEntity<TransferTicketDto> submitTransaction(
+            @RequestHeader(name = "Idempotency-Key") @Parameter(description = "unique key of transaction") String idempotencyKey,
+            @RequestBody @Parameter(description = "dto data to conduct transaction") ConductTransactionDto conductTransactionDto
+    ) {
+        log.info("REST: Submit transaction is called");
+        if (!transactionValidator.validateDto(conductTransactionDto)) {
+            log.info("REST: The input data of transaction is invalid");
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (!transferPipeline.isEnabled()) {
+            log.info("REST: Asynchronous transfers are disabled");
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        TransferTicket ticket;
+        try {
+            ticket = transferPipeline.submit(
+                    idempotencyKey,
+                    Integer.valueOf(conductTransactionDto.getSenderAccountNumber()),
+                    Integer.valueOf(conductTransactionDto.getReceiverAccountNumber()),
+                    Money.parse(conductTransactionDto.getAmountOfMoney())
+            );
+        } catch (IdempotencyKeyConflictException e) {
+            log.info("REST: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        log.info("REST: Transaction is submitted with status " + ticket.getStatus());
+        return new ResponseEntity<>(transferTicketMapper.toDto(ticket), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping(value = "/transactions/async/{idempotencyKey}")
+    @Operation(
+            summary = "Reading status of submitted transaction",
+            description = "Allows to read status of transaction submitted with idempotency key"
+    )
+    public ResponseEntity<TransferTicketDto> readTransactionStatus(
+            @PathVariable(name = "idempotencyKey") @Parameter(description = "key of submitted transaction") String idempotencyKey
+    ) {
+        log.info("REST: Read transaction status is called");
+        TransferTicket ticket = transferPipeline.findTicket(idempotencyKey);
+        if (ticket == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(transferTicketMapper.toDto(ticket), HttpStatus.OK);
+    }
 }
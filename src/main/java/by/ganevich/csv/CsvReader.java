@@ -0,0 +1,297 @@
+package by.ganevich.csv;
+
+import by.ganevich.money.Money;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Splits csv text into lines and fields inside one reusable {@code char[]}
+ * buffer. Fields are exposed as ranges of the buffer and parsed in place, so
+ * numbers, amounts and enum constants are read without creating strings.
+ * Quoted fields, doubled quotes and both {@code \n} and {@code \r\n} line ends
+ * are supported; blank lines are skipped.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader in;
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16];
+    private int count;
+    private long lineNumber;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Moves to the next non-blank line. Returns {@code false} at the end of the input.
+     */
+    public boolean next() throws IOException {
+        while (scanLine()) {
+            if (count > 1 || ends[0] > starts[0]) {
+                lineNumber++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public int getFieldCount() {
+        return count;
+    }
+
+    public boolean isEmpty(int field) {
+        return field >= count || ends[field] == starts[field];
+    }
+
+    public String getString(int field) {
+        check(field);
+        int start = starts[field];
+        if (!escaped[field]) {
+            return new String(buffer, start, ends[field] - start);
+        }
+        StringBuilder value = new StringBuilder(ends[field] - start);
+        for (int i = start; i < ends[field]; i++) {
+            value.append(buffer[i]);
+            if (buffer[i] == '"') {
+                i++;
+            }
+        }
+        return value.toString();
+    }
+
+    public long getLong(int field) {
+        check(field);
+        int i = skipSpaces(starts[field], ends[field]);
+        int end = trimSpaces(i, ends[field]);
+        boolean negative = i < end && buffer[i] == '-';
+        if (negative || (i < end && buffer[i] == '+')) {
+            i++;
+        }
+        if (i == end) {
+            throw invalid(field, "number");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = buffer[i];
+            if (c < '0' || c > '9') {
+                throw invalid(field, "number");
+            }
+            value = Math.subtractExact(Math.multiplyExact(value, 10), c - '0');
+        }
+        return negative ? value : Math.negateExact(value);
+    }
+
+    public int getInt(int field) {
+        return Math.toIntExact(getLong(field));
+    }
+
+    /**
+     * Returns the id held by the field, or {@code null} if it is not a number.
+     */
+    public Long getId(int field) {
+        if (isEmpty(field)) {
+            return null;
+        }
+        try {
+            return getLong(field);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    public long getMoney(int field) {
+        check(field);
+        return Money.parse(buffer, starts[field], ends[field] - starts[field]);
+    }
+
+    public <E extends Enum<E>> E getEnum(int field, E[] constants) {
+        check(field);
+        int start = skipSpaces(starts[field], ends[field]);
+        int length = trimSpaces(start, ends[field]) - start;
+        for (E constant : constants) {
+            String name = constant.name();
+            if (name.length() == length && matches(name, start)) {
+                return constant;
+            }
+        }
+        throw invalid(field, "constant");
+    }
+
+    public Date getDate(int field) {
+        check(field);
+        int start = skipSpaces(starts[field], ends[field]);
+        if (trimSpaces(start, ends[field]) - start != 10 || buffer[start + 4] != '-' || buffer[start + 7] != '-') {
+            throw invalid(field, "date");
+        }
+        return Date.valueOf(LocalDate.of(digits(field, start, 4), digits(field, start + 5, 2),
+                digits(field, start + 8, 2)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean scanLine() throws IOException {
+        count = 0;
+        int lineStart = position;
+        int fieldStart = position;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        boolean fieldEscaped = false;
+        int i = position;
+
+        while (true) {
+            if (i == limit) {
+                int shift = fill(lineStart);
+                lineStart -= shift;
+                fieldStart -= shift;
+                i -= shift;
+                for (int field = 0; field < count; field++) {
+                    starts[field] -= shift;
+                    ends[field] -= shift;
+                }
+                if (i == limit) {
+                    if (i == lineStart) {
+                        position = i;
+                        return false;
+                    }
+                    endField(fieldStart, i, quoted, fieldEscaped);
+                    position = i;
+                    return true;
+                }
+            }
+
+            char c = buffer[i];
+            if (c == '"') {
+                if (inQuotes) {
+                    inQuotes = false;
+                } else if (i == fieldStart) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (quoted) {
+                    inQuotes = true;
+                    fieldEscaped = true;
+                }
+            } else if (!inQuotes) {
+                if (c == ',') {
+                    endField(fieldStart, i, quoted, fieldEscaped);
+                    fieldStart = i + 1;
+                    quoted = false;
+                    fieldEscaped = false;
+                } else if (c == '\n' || c == '\r') {
+                    endField(fieldStart, i, quoted, fieldEscaped);
+                    position = i + 1;
+                    return true;
+                }
+            }
+            i++;
+        }
+    }
+
+    private void endField(int start, int end, boolean quoted, boolean fieldEscaped) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+        if (quoted) {
+            start++;
+            if (end > start && buffer[end - 1] == '"') {
+                end--;
+            }
+        }
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = fieldEscaped;
+        count++;
+    }
+
+    /**
+     * Moves the current line to the start of the buffer, growing it if the
+     * line fills it, and reads more input. Returns how far the line moved.
+     */
+    private int fill(int lineStart) throws IOException {
+        if (eof) {
+            return 0;
+        }
+        int length = limit - lineStart;
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        } else if (lineStart > 0) {
+            System.arraycopy(buffer, lineStart, buffer, 0, length);
+        }
+        limit = length;
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+        return lineStart;
+    }
+
+    private int skipSpaces(int start, int end) {
+        while (start < end && buffer[start] == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimSpaces(int start, int end) {
+        while (end > start && buffer[end - 1] == ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private boolean matches(String name, int start) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int digits(int field, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = buffer[i];
+            if (c < '0' || c > '9') {
+                throw invalid(field, "date");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private void check(int field) {
+        if (field >= count) {
+            throw new IllegalArgumentException("Line " + lineNumber + " has no column " + (field + 1));
+        }
+    }
+
+    private NumberFormatException invalid(int field, String type) {
+        return new NumberFormatException("Column " + (field + 1) + " of line " + lineNumber
+                + " is not a valid " + type + ": " + new String(buffer, starts[field], ends[field] - starts[field]));
+    }
+}
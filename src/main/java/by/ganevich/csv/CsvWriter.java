@@ -1,15 +1,160 @@
 package by.ganevich.csv;
 
-import au.com.bytecode.opencsv.CSVWriter;
+import by.ganevich.money.Money;
 
-import java.io.FileWriter;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.Writer;
+import java.sql.Date;
+import java.time.LocalDate;
 
-public class CsvWriter {
+/**
+ * Writes csv fields into its own {@code char[]} buffer and hands full buffers
+ * to the underlying writer. Numbers, amounts and dates are formatted into the
+ * buffer directly; text fields are quoted only when they need it.
+ */
+public class CsvWriter implements Closeable {
 
-    public void writeCsv(String fileName, String input) throws IOException {
-        CSVWriter writer = new CSVWriter(new FileWriter(fileName, true));
-        writer.writeNext(input.split(","));
-        writer.close();
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final char[] number = new char[24];
+    private int position;
+    private boolean lineStart = true;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public CsvWriter field(CharSequence value) throws IOException {
+        separate();
+        if (!needsQuotes(value)) {
+            append(value);
+            return this;
+        }
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put('"');
+            }
+            put(c);
+        }
+        put('"');
+        return this;
+    }
+
+    public CsvWriter field(long value) throws IOException {
+        separate();
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value));
+            return this;
+        }
+        int start = number.length;
+        long rest = Math.abs(value);
+        do {
+            number[--start] = (char) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest > 0);
+        if (value < 0) {
+            number[--start] = '-';
+        }
+        put(number, start, number.length - start);
+        return this;
+    }
+
+    public CsvWriter field(Enum<?> value) throws IOException {
+        separate();
+        append(value.name());
+        return this;
+    }
+
+    public CsvWriter money(long minorUnits) throws IOException {
+        separate();
+        put(number, 0, Money.format(minorUnits, number));
+        return this;
+    }
+
+    public CsvWriter date(Date date) throws IOException {
+        separate();
+        LocalDate localDate = date.toLocalDate();
+        digits(localDate.getYear(), 4);
+        put('-');
+        digits(localDate.getMonthValue(), 2);
+        put('-');
+        digits(localDate.getDayOfMonth(), 2);
+        return this;
+    }
+
+    public CsvWriter empty() throws IOException {
+        separate();
+        return this;
+    }
+
+    public void endLine() throws IOException {
+        put('\n');
+        lineStart = true;
+    }
+
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void separate() throws IOException {
+        if (!lineStart) {
+            put(',');
+        }
+        lineStart = false;
+    }
+
+    private void digits(int value, int width) throws IOException {
+        int start = number.length;
+        for (int i = 0; i < width || value > 0; i++) {
+            number[--start] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        put(number, start, number.length - start);
+    }
+
+    private static boolean needsQuotes(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return value.length() == 0;
+    }
+
+    private void append(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            put(value.charAt(i));
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (position == buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = c;
+    }
+
+    private void put(char[] chars, int offset, int length) throws IOException {
+        if (buffer.length - position < length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        System.arraycopy(chars, offset, buffer, position, length);
+        position += length;
     }
 }
@@ -1,70 +1,193 @@
 package by.ganevich.csv.archiver;
 
+import by.ganevich.csv.exportCsv.CsvExporter;
+import by.ganevich.job.JobProgress;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.time.LocalDate;
-import java.util.Set;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class Archiver {
 
-    public void pack(Set<File> files) throws IOException {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final DateTimeFormatter ARCHIVE_STAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
 
-        LocalDate date = LocalDate.now();
+    @Value("${export.zip.directory:src/main/resources/csv}")
+    private String exportDirectory;
 
-        try(ZipOutputStream zout = new ZipOutputStream(new FileOutputStream("src\\main\\resources\\csv\\export(" + date.toString() + ").zip")))
-        {
-            for (File file : files) {
-                putFileToZip(file, zout);
+    @Value("${export.zip.compression-level:6}")
+    private int compressionLevel;
+
+    @Value("${export.threads:4}")
+    private int exportThreads;
+
+    @Value("${export.zip.queue-blocks:64}")
+    private int queueBlocks;
+
+    private ExecutorService exportExecutor;
+
+    @PostConstruct
+    public void start() {
+        exportExecutor = Executors.newFixedThreadPool(exportThreads, new ThreadFactory() {
+            private final AtomicInteger index = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "csv-export-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
             }
-        } catch(Exception ex){
-            System.out.println(ex.getMessage());
-        }
+        });
     }
 
-    private void putFileToZip(File file, ZipOutputStream zout) throws IOException {
-        FileInputStream fis = new FileInputStream(file.getName());
-        ZipEntry zipEntry = new ZipEntry(file.getName());
+    @PreDestroy
+    public void stop() {
+        exportExecutor.shutdownNow();
+    }
 
-        zout.putNextEntry(zipEntry);
-        byte[] buffer = new byte[fis.available()];
-        fis.read(buffer);
-        zout.write(buffer);
-        zout.closeEntry();
-        fis.close();
+    /**
+     * Runs the exporters in parallel, each one streaming into its own zip entry
+     * through a bounded block queue, so no temporary file is written. Entries are
+     * written to the archive in the order of the exporters; every archive gets
+     * its own time-stamped name.
+     */
+    public Path pack(List<CsvExporter> exporters, JobProgress progress) throws IOException {
 
-        file.delete();
-    }
+        String stamp = LocalDateTime.now().format(ARCHIVE_STAMP);
+        Path zipPath = Paths.get(exportDirectory, "export(" + stamp + ").zip");
+        Files.createDirectories(zipPath.toAbsolutePath().getParent());
 
+        List<ZipEntrySink> sinks = new ArrayList<>();
+        List<Future<Long>> exports = new ArrayList<>();
+        for (CsvExporter exporter : exporters) {
+            ZipEntrySink sink = new ZipEntrySink(exporter.getFileName(), BUFFER_SIZE, queueBlocks);
+            sinks.add(sink);
+            exports.add(exportExecutor.submit(() -> {
+                try {
+                    return exporter.exportCsv(sink, progress);
+                } catch (Exception | Error ex) {
+                    sink.abort();
+                    throw ex;
+                }
+            }));
+        }
 
-    public void unpack() {
+        try (ZipOutputStream zout = new ZipOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(zipPath), BUFFER_SIZE))) {
+            zout.setLevel(compressionLevel);
+            for (int i = 0; i < sinks.size(); i++) {
+                zout.putNextEntry(new ZipEntry(sinks.get(i).getName()));
+                sinks.get(i).transferTo(zout);
+                zout.closeEntry();
+                exports.get(i).get();
+            }
+        } catch (IOException | InterruptedException | ExecutionException ex) {
+            sinks.forEach(ZipEntrySink::abort);
+            exports.forEach(export -> export.cancel(true));
+            Files.deleteIfExists(zipPath);
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Export to " + zipPath + " failed", ex);
+        }
 
-        try(ZipInputStream zin = new ZipInputStream(new FileInputStream("src\\main\\resources\\csv\\import.zip")))
-        {
-            ZipEntry entry;
+        log.info("Export is packed to " + zipPath);
+        return zipPath;
+    }
 
-            while((entry=zin.getNextEntry())!=null){
-                File file = new File(entry.getName());
-                FileOutputStream  os = new FileOutputStream(file);
-                for (int c = zin.read(); c != -1; c = zin.read()) {
-                    os.write(c);
+    /**
+     * Opens the archive through its central directory and hands every entry
+     * to the consumer as a buffered stream, without extracting anything.
+     * Entries are visited in the order of the given names; missing ones are skipped.
+     * The uncompressed bytes read by the consumer are reported as progress.
+     */
+    public void unpack(Path archive, List<String> entryNames, JobProgress progress,
+                       ZipEntryConsumer consumer) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            for (String entryName : entryNames) {
+                ZipEntry entry = zipFile.getEntry(entryName);
+                if (entry != null && entry.getSize() > 0) {
+                    progress.expect(entry.getSize());
                 }
-                os.flush();
-                zin.closeEntry();
-                os.close();
             }
+            for (String entryName : entryNames) {
+                ZipEntry entry = zipFile.getEntry(entryName);
+                if (entry == null) {
+                    log.info("Entry " + entryName + " is not found in " + archive);
+                    continue;
+                }
+                try (InputStream in = new BufferedInputStream(
+                        new ProgressInputStream(zipFile.getInputStream(entry), progress), BUFFER_SIZE)) {
+                    consumer.accept(entry, in);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ZipEntryConsumer {
+        void accept(ZipEntry entry, InputStream in) throws IOException;
+    }
+
+    private static final class ProgressInputStream extends FilterInputStream {
+
+        private final JobProgress progress;
+
+        private ProgressInputStream(InputStream in, JobProgress progress) {
+            super(in);
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                progress.transferred(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                progress.transferred(read);
+            }
+            return read;
+        }
 
-        } catch(Exception ex){
-            System.out.println(ex.getMessage());
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            progress.transferred(skipped);
+            return skipped;
         }
     }
 }
@@ -0,0 +1,122 @@
+package by.ganevich.csv.archiver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands the bytes of one zip entry from an exporter thread to the thread that
+ * owns the zip stream, in fixed-size blocks through a bounded queue. The
+ * exporter blocks when the queue is full, so at most {@code capacity} blocks
+ * of an entry are held in memory. Either side gives up once the sink is aborted.
+ */
+public class ZipEntrySink extends OutputStream {
+
+    private static final byte[] END = new byte[0];
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final String name;
+    private final BlockingQueue<byte[]> blocks;
+    private final int blockSize;
+
+    private byte[] block;
+    private int position;
+    private boolean closed;
+    private volatile boolean aborted;
+
+    public ZipEntrySink(String name, int blockSize, int capacity) {
+        this.name = name;
+        this.blockSize = blockSize;
+        this.blocks = new ArrayBlockingQueue<>(capacity);
+        this.block = new byte[blockSize];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == blockSize) {
+            flushBlock();
+        }
+        block[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == blockSize) {
+                flushBlock();
+            }
+            int count = Math.min(length, blockSize - position);
+            System.arraycopy(bytes, offset, block, position, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (position > 0) {
+            flushBlock();
+        }
+        put(END);
+    }
+
+    /**
+     * Copies the blocks to {@code out} until the exporter closes the sink.
+     */
+    public void transferTo(OutputStream out) throws IOException {
+        try {
+            while (true) {
+                byte[] next = blocks.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (next == END) {
+                    return;
+                }
+                if (next != null) {
+                    out.write(next);
+                } else if (aborted) {
+                    throw new IOException("Zip entry " + name + " is aborted");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Zip entry " + name + " is interrupted");
+        }
+    }
+
+    public void abort() {
+        aborted = true;
+        blocks.clear();
+    }
+
+    private void flushBlock() throws IOException {
+        byte[] full = position == blockSize ? block : Arrays.copyOf(block, position);
+        put(full);
+        block = new byte[blockSize];
+        position = 0;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        try {
+            while (!blocks.offer(bytes, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (aborted) {
+                    throw new IOException("Zip entry " + name + " is aborted");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Zip entry " + name + " is interrupted");
+        }
+    }
+}
@@ -1,40 +1,29 @@
 package by.ganevich.csv.csvMapper;
 
-import au.com.bytecode.opencsv.CSVReader;
-import au.com.bytecode.opencsv.bean.ColumnPositionMappingStrategy;
-import au.com.bytecode.opencsv.bean.CsvToBean;
+import by.ganevich.csv.CsvReader;
 import by.ganevich.csv.CsvWriter;
 
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.Reader;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Csv codec of one entity: reads the fields of the current line of a
+ * {@link CsvReader} into a new entity and writes an entity field by field
+ * into a {@link CsvWriter}.
+ */
 public abstract class BaseCsvMapper<T> {
 
-    public List<T> toEntity(String fileName) throws IOException {
-        CsvToBean csv = new CsvToBean();
-
-        CSVReader csvReader = new CSVReader(new FileReader(fileName));
-
-        List<T> entities = new ArrayList<>();
-        List list = csv.parse(setColumnMapping(), csvReader);
-        for (Object object : list) {
-            T entity = (T) object;
-            entities.add(entity);
-        }
-        csvReader.close();
-        return entities;
+    public CsvRecordReader<T> reader(Reader reader) {
+        return new CsvRecordReader<>(new CsvReader(reader), this);
     }
 
-
-    public void toCsv(String fileName, T entity) throws IOException {
-        String toCsv = getCsvString(entity);
-        CsvWriter csvWriter = new CsvWriter();
-        csvWriter.writeCsv(fileName, toCsv);
+    public List<ForeignKey<T, ?>> getForeignKeys() {
+        return Collections.emptyList();
     }
 
-    public abstract String getCsvString(T entity);
+    public abstract T fromCsv(CsvReader line);
 
-    public abstract ColumnPositionMappingStrategy setColumnMapping();
+    public abstract void toCsv(CsvWriter csvWriter, T entity) throws IOException;
 }
@@ -1,35 +1,55 @@
 package by.ganevich.csv.csvMapper;
 
-import au.com.bytecode.opencsv.bean.ColumnPositionMappingStrategy;
+import by.ganevich.csv.CsvReader;
+import by.ganevich.csv.CsvWriter;
+import by.ganevich.entity.Bank;
 import by.ganevich.entity.BankAccount;
+import by.ganevich.entity.Client;
+import by.ganevich.entity.Currency;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
 @Component
 public class CsvBankAccountCsvMapper extends BaseCsvMapper<BankAccount> {
 
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private static final int NUMBER = 0;
+    private static final int CURRENCY = 1;
+    private static final int AMOUNT_OF_MONEY = 2;
+    private static final int BANK_ID = 3;
+    private static final int CLIENT_ID = 4;
+
+    private static final List<ForeignKey<BankAccount, ?>> FOREIGN_KEYS = Arrays.asList(
+            new ForeignKey<>("bankId", BANK_ID, Bank.class, BankAccount::setBankProducer),
+            new ForeignKey<>("clientId", CLIENT_ID, Client.class, BankAccount::setOwner)
+    );
+
     @Override
-    public String getCsvString(BankAccount bankAccount) {
-        return bankAccount.getId().toString() + ","
-                + bankAccount.getNumber().toString() + ","
-                + bankAccount.getOwner().getId().toString() + ","
-                + bankAccount.getBankProducer().getId().toString() + ","
-                + bankAccount.getCurrency().toString() + ","
-                + bankAccount.getAmountOfMoney().toString();
+    public List<ForeignKey<BankAccount, ?>> getForeignKeys() {
+        return FOREIGN_KEYS;
     }
 
-    public ColumnPositionMappingStrategy setColumnMapping()
-    {
-        ColumnPositionMappingStrategy strategy = new ColumnPositionMappingStrategy();
-        strategy.setType(BankAccount.class);
-        String[] columns = new String[] {
-                "number",
-                "currency",
-                "amountOfMoney",
-                "bankId",
-                "clientId"
-        };
-        strategy.setColumnMapping(columns);
-        return strategy;
+    @Override
+    public BankAccount fromCsv(CsvReader line) {
+        BankAccount bankAccount = new BankAccount();
+        bankAccount.setNumber(line.getInt(NUMBER));
+        bankAccount.setCurrency(line.getEnum(CURRENCY, CURRENCIES));
+        bankAccount.setAmountOfMoney(line.getMoney(AMOUNT_OF_MONEY));
+        return bankAccount;
     }
 
+    @Override
+    public void toCsv(CsvWriter csvWriter, BankAccount bankAccount) throws IOException {
+        csvWriter.field(bankAccount.getId())
+                .field(bankAccount.getNumber())
+                .field(bankAccount.getOwner().getId())
+                .field(bankAccount.getBankProducer().getId())
+                .field(bankAccount.getCurrency())
+                .money(bankAccount.getAmountOfMoney())
+                .endLine();
+    }
 }
@@ -1,24 +1,28 @@
 package by.ganevich.csv.csvMapper;
 
-import au.com.bytecode.opencsv.bean.ColumnPositionMappingStrategy;
+import by.ganevich.csv.CsvReader;
+import by.ganevich.csv.CsvWriter;
 import by.ganevich.entity.Bank;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 @Component
 public class CsvBankCsvMapper extends BaseCsvMapper<Bank> {
 
+    private static final int NAME = 0;
+
     @Override
-    public String getCsvString(Bank bank) {
-        return bank.getId().toString() + "," + bank.getName();
+    public Bank fromCsv(CsvReader line) {
+        Bank bank = new Bank();
+        bank.setName(line.getString(NAME));
+        return bank;
     }
 
     @Override
-    public ColumnPositionMappingStrategy setColumnMapping()
-    {
-        ColumnPositionMappingStrategy strategy = new ColumnPositionMappingStrategy();
-        strategy.setType(Bank.class);
-        String[] columns = new String[] {"bankName"};
-        strategy.setColumnMapping(columns);
-        return strategy;
+    public void toCsv(CsvWriter csvWriter, Bank bank) throws IOException {
+        csvWriter.field(bank.getId())
+                .field(bank.getName())
+                .endLine();
     }
 }
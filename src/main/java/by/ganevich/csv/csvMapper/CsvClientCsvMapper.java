@@ -1,25 +1,34 @@
 package by.ganevich.csv.csvMapper;
 
-import au.com.bytecode.opencsv.bean.ColumnPositionMappingStrategy;
+import by.ganevich.csv.CsvReader;
+import by.ganevich.csv.CsvWriter;
 import by.ganevich.entity.Client;
+import by.ganevich.entity.ClientType;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 @Component
 public class CsvClientCsvMapper extends BaseCsvMapper<Client> {
 
+    private static final ClientType[] TYPES = ClientType.values();
+
+    private static final int NAME = 0;
+    private static final int TYPE = 1;
+
     @Override
-    public String getCsvString(Client client) {
-        return client.getId().toString() + "," + client.getName()
-                + "," + client.getType().toString();
+    public Client fromCsv(CsvReader line) {
+        Client client = new Client();
+        client.setName(line.getString(NAME));
+        client.setType(line.getEnum(TYPE, TYPES));
+        return client;
     }
 
     @Override
-    public ColumnPositionMappingStrategy setColumnMapping()
-    {
-        ColumnPositionMappingStrategy strategy = new ColumnPositionMappingStrategy();
-        strategy.setType(Client.class);
-        String[] columns = new String[] {"name", "type"};
-        strategy.setColumnMapping(columns);
-        return strategy;
+    public void toCsv(CsvWriter csvWriter, Client client) throws IOException {
+        csvWriter.field(client.getId())
+                .field(client.getName())
+                .field(client.getType())
+                .endLine();
     }
 }
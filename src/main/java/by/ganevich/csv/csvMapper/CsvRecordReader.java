@@ -0,0 +1,56 @@
+package by.ganevich.csv.csvMapper;
+
+import by.ganevich.csv.CsvReader;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads csv rows one at a time, so a file of any size can be imported
+ * without holding all of its entities in memory.
+ */
+public class CsvRecordReader<T> implements ImportRowReader<T> {
+
+    private final CsvReader csvReader;
+    private final BaseCsvMapper<T> mapper;
+    private final List<ForeignKey<T, ?>> foreignKeys;
+
+    CsvRecordReader(CsvReader csvReader, BaseCsvMapper<T> mapper) {
+        this.csvReader = csvReader;
+        this.mapper = mapper;
+        this.foreignKeys = mapper.getForeignKeys();
+    }
+
+    @Override
+    public ImportRow<T> read() throws IOException {
+        if (!csvReader.next()) {
+            return null;
+        }
+        T entity;
+        try {
+            entity = mapper.fromCsv(csvReader);
+        } catch (RuntimeException e) {
+            throw new IOException("Csv row " + csvReader.getLineNumber() + " can not be parsed", e);
+        }
+
+        Long[] references = new Long[foreignKeys.size()];
+        for (int i = 0; i < references.length; i++) {
+            references[i] = csvReader.getId(foreignKeys.get(i).getIndex());
+        }
+        return new ImportRow<>(csvReader.getLineNumber(), entity, references);
+    }
+
+    @Override
+    public long skip(long rows) throws IOException {
+        long skipped = 0;
+        while (skipped < rows && csvReader.next()) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+}
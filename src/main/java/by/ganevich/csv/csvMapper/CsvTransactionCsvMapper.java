@@ -1,36 +1,54 @@
 package by.ganevich.csv.csvMapper;
 
-import au.com.bytecode.opencsv.bean.ColumnPositionMappingStrategy;
+import by.ganevich.csv.CsvReader;
+import by.ganevich.csv.CsvWriter;
+import by.ganevich.entity.BankAccount;
+import by.ganevich.entity.Client;
 import by.ganevich.entity.Transaction;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
 @Component
 public class CsvTransactionCsvMapper extends BaseCsvMapper<Transaction> {
 
+    private static final int SENDER_ID = 0;
+    private static final int RECEIVER_ID = 1;
+    private static final int AMOUNT_OF_MONEY = 2;
+    private static final int SENDER_ACCOUNT_ID = 3;
+    private static final int RECEIVER_ACCOUNT_ID = 4;
+    private static final int DATE = 5;
+
+    private static final List<ForeignKey<Transaction, ?>> FOREIGN_KEYS = Arrays.asList(
+            new ForeignKey<>("senderId", SENDER_ID, Client.class, Transaction::setSender),
+            new ForeignKey<>("receiverId", RECEIVER_ID, Client.class, Transaction::setReceiver),
+            new ForeignKey<>("senderAccountId", SENDER_ACCOUNT_ID, BankAccount.class, Transaction::setSenderAccount),
+            new ForeignKey<>("receiverAccountId", RECEIVER_ACCOUNT_ID, BankAccount.class,
+                    Transaction::setReceiverAccount)
+    );
+
     @Override
-    public String getCsvString(Transaction transaction) {
-        return transaction.getId().toString() + ","
-                + transaction.getSender().getId().toString() + ","
-                + transaction.getReceiver().getId().toString() + ","
-                + transaction.getAmountOfMoney().toString() + ","
-                + transaction.getDate().toString() + ",";
+    public List<ForeignKey<Transaction, ?>> getForeignKeys() {
+        return FOREIGN_KEYS;
     }
 
     @Override
-    public ColumnPositionMappingStrategy setColumnMapping()
-    {
-        ColumnPositionMappingStrategy strategy = new ColumnPositionMappingStrategy();
-        strategy.setType(Transaction.class);
-        String[] columns = new String[] {
-                "senderId",
-                "receiverId",
-                "amountOfMoney",
-                "senderAccountId",
-                "receiverAccountId",
-                "date"
-        };
-        strategy.setColumnMapping(columns);
-        return strategy;
+    public Transaction fromCsv(CsvReader line) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountOfMoney(line.getMoney(AMOUNT_OF_MONEY));
+        transaction.setDate(line.getDate(DATE));
+        return transaction;
     }
 
+    @Override
+    public void toCsv(CsvWriter csvWriter, Transaction transaction) throws IOException {
+        csvWriter.field(transaction.getId())
+                .field(transaction.getSender().getId())
+                .field(transaction.getReceiver().getId())
+                .money(transaction.getAmountOfMoney())
+                .date(transaction.getDate())
+                .endLine();
+    }
 }
@@ -0,0 +1,29 @@
+package by.ganevich.csv.csvMapper;
+
+import lombok.Getter;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A csv column holding the id of a referenced entity, and the setter that
+ * links the imported entity to it.
+ */
+@Getter
+public class ForeignKey<T, R> {
+
+    private final String column;
+    private final int index;
+    private final Class<R> target;
+    private final BiConsumer<T, R> setter;
+
+    public ForeignKey(String column, int index, Class<R> target, BiConsumer<T, R> setter) {
+        this.column = column;
+        this.index = index;
+        this.target = target;
+        this.setter = setter;
+    }
+
+    public void assign(T entity, Object reference) {
+        setter.accept(entity, target.cast(reference));
+    }
+}
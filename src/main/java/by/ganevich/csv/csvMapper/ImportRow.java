@@ -0,0 +1,19 @@
+package by.ganevich.csv.csvMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A parsed csv row: the entity and the raw ids of its foreign keys, in the
+ * order of {@link BaseCsvMapper#getForeignKeys()}. An id that can not be
+ * parsed is {@code null}.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportRow<T> {
+
+    private final long rowNumber;
+    private final T entity;
+    private final Long[] references;
+
+}
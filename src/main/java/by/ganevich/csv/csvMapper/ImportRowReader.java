@@ -0,0 +1,15 @@
+package by.ganevich.csv.csvMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A source of parsed csv rows in file order. {@link #read()} returns
+ * {@code null} once the input is exhausted.
+ */
+public interface ImportRowReader<T> extends Closeable {
+
+    ImportRow<T> read() throws IOException;
+
+    long skip(long rows) throws IOException;
+}
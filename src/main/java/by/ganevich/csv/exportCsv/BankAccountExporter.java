@@ -2,6 +2,7 @@ package by.ganevich.csv.exportCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvBankAccountCsvMapper;
+import by.ganevich.entity.BankAccount;
 import by.ganevich.service.BankAccountService;
 import by.ganevich.service.BaseService;
 import lombok.Getter;
@@ -11,7 +12,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Getter
-public class BankAccountExporter extends CsvExporter {
+public class BankAccountExporter extends CsvExporter<BankAccount> {
 
     private final BankAccountService bankAccountService;
     private final CsvBankAccountCsvMapper bankAccountMapper;
@@ -19,12 +20,12 @@ public class BankAccountExporter extends CsvExporter {
     private final String fileName = "exportBankAccounts.csv";
 
     @Override
-    public BaseService getService() {
+    public BaseService<BankAccount> getService() {
         return this.bankAccountService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<BankAccount> getMapper() {
         return this.bankAccountMapper;
     }
 }
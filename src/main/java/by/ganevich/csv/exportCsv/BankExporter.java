@@ -2,6 +2,7 @@ package by.ganevich.csv.exportCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvBankCsvMapper;
+import by.ganevich.entity.Bank;
 import by.ganevich.service.BankService;
 import by.ganevich.service.BaseService;
 import lombok.Getter;
@@ -12,7 +13,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Getter
-public class BankExporter extends CsvExporter {
+public class BankExporter extends CsvExporter<Bank> {
 
     private final CsvBankCsvMapper bankMapper;
     private final BankService bankService;
@@ -20,12 +21,12 @@ public class BankExporter extends CsvExporter {
     private final String fileName = "exportBanks.csv";
 
     @Override
-    public BaseService getService() {
+    public BaseService<Bank> getService() {
         return this.bankService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<Bank> getMapper() {
         return this.bankMapper;
     }
 
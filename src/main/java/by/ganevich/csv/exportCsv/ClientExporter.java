@@ -2,6 +2,7 @@ package by.ganevich.csv.exportCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvClientCsvMapper;
+import by.ganevich.entity.Client;
 import by.ganevich.service.BaseService;
 import by.ganevich.service.ClientService;
 import lombok.Getter;
@@ -11,7 +12,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Getter
-public class ClientExporter extends CsvExporter {
+public class ClientExporter extends CsvExporter<Client> {
 
     private final ClientService clientService;
     private final CsvClientCsvMapper clientMapper;
@@ -19,12 +20,12 @@ public class ClientExporter extends CsvExporter {
     private final String fileName = "exportClients.csv";
 
     @Override
-    public BaseService getService() {
+    public BaseService<Client> getService() {
         return this.clientService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<Client> getMapper() {
         return this.clientMapper;
     }
 
@@ -1,36 +1,57 @@
 package by.ganevich.csv.exportCsv;
 
+import by.ganevich.csv.CsvWriter;
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
+import by.ganevich.job.JobProgress;
 import by.ganevich.service.BaseService;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 @Slf4j
 public abstract class CsvExporter<T> {
 
+    @Autowired
+    @Getter(AccessLevel.PROTECTED)
+    private ExportReader exportReader;
+
     public abstract String getFileName();
 
-    public abstract BaseService getService();
+    public abstract BaseService<T> getService();
 
-    public abstract BaseCsvMapper getMapper();
+    public abstract BaseCsvMapper<T> getMapper();
 
-    public File exportCsv() throws IOException {
+    public long exportCsv(OutputStream out, JobProgress progress) throws IOException {
         log.info("Export csv is called");
-        File file = new File(getFileName());
-        file.delete();
-        doExport(getFileName());
-        File exportedFile = new File(getFileName());
-        log.info("File " + exportedFile.getName() + "is successfully exported");
-        return exportedFile;
+        progress.expect(getService().count());
+        long count;
+        try (CsvWriter csvWriter = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            count = doExport(csvWriter, progress);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("File " + getFileName() + " is successfully exported");
+        return count;
+    }
+
+    public long doExport(CsvWriter csvWriter, JobProgress progress) {
+        long count = exportReader.forEach(getService()::streamAll, entity -> write(csvWriter, entity), progress);
+        log.info(count + " rows are exported to " + getFileName());
+        return count;
     }
 
-    public void doExport(String fileName) throws IOException {
-        List<T> entities = getService().readAll();
-        for (T entity : entities) {
-            getMapper().toCsv(fileName, entity);
+    protected void write(CsvWriter csvWriter, T entity) {
+        try {
+            getMapper().toCsv(csvWriter, entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -0,0 +1,106 @@
+package by.ganevich.csv.exportCsv;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges the compacted file and the delta files of every incremental exporter
+ * into a single new compacted file. Every file is sorted by id and files are
+ * merged in the order they were written, so a row repeated by an interrupted
+ * delta export is dropped by comparing its id with the last written one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeltaCompactor {
+
+    private static final String COMPACTED_MARKER = "-compacted";
+
+    private final DeltaExporter deltaExporter;
+
+    public List<Path> compact(List<DeltaCsvExporter> exporters) throws IOException {
+        Path directory = deltaExporter.getDirectory();
+        List<Path> compacted = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return compacted;
+        }
+
+        for (DeltaCsvExporter exporter : exporters) {
+            String baseName = DeltaExporter.baseName(exporter.getFileName());
+            Path target = directory.resolve(baseName + COMPACTED_MARKER + DeltaExporter.CSV_SUFFIX);
+            List<Path> deltas = findDeltas(directory, baseName);
+            if (deltas.isEmpty()) {
+                continue;
+            }
+
+            List<Path> sources = new ArrayList<>();
+            if (Files.exists(target)) {
+                sources.add(target);
+            }
+            sources.addAll(deltas);
+
+            Path temp = directory.resolve(baseName + COMPACTED_MARKER + ".tmp");
+            long rows = merge(sources, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path delta : deltas) {
+                Files.delete(delta);
+            }
+            compacted.add(target);
+            log.info(deltas.size() + " deltas of " + exporter.getFileName() + " are compacted into " + target
+                    + ", " + rows + " rows");
+        }
+        return compacted;
+    }
+
+    private List<Path> findDeltas(Path directory, String baseName) throws IOException {
+        List<Path> deltas = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                baseName + DeltaExporter.DELTA_MARKER + "*" + DeltaExporter.CSV_SUFFIX)) {
+            files.forEach(deltas::add);
+        }
+        deltas.sort(null);
+        return deltas;
+    }
+
+    private long merge(List<Path> sources, Path target) throws IOException {
+        long rows = 0;
+        long lastId = Long.MIN_VALUE;
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            for (Path source : sources) {
+                try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        if (line.isEmpty()) {
+                            continue;
+                        }
+                        long id = idOf(line);
+                        if (id <= lastId) {
+                            continue;
+                        }
+                        writer.write(line);
+                        writer.write('\n');
+                        lastId = id;
+                        rows++;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static long idOf(String line) {
+        int end = line.indexOf(',');
+        return Long.parseLong(end < 0 ? line : line.substring(0, end));
+    }
+}
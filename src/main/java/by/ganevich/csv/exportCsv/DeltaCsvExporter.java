@@ -0,0 +1,43 @@
+package by.ganevich.csv.exportCsv;
+
+import by.ganevich.csv.CsvWriter;
+import by.ganevich.job.JobProgress;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Exporter of rows that are never changed after insert, so rows with an id
+ * above the last exported one are exactly the rows that are new. Only these
+ * exporters take part in delta exports and their compaction.
+ */
+@Slf4j
+public abstract class DeltaCsvExporter<T> extends CsvExporter<T> {
+
+    /**
+     * Writes the rows with an id above {@code lastId} in id order and returns
+     * the highest written id, or {@code lastId} if there are no new rows.
+     */
+    public long exportAfter(OutputStream out, long lastId, JobProgress progress) throws IOException {
+        long[] highWaterMark = {lastId};
+        try (CsvWriter csvWriter = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            long count = getExportReader().forEach(() -> streamAfter(lastId), entity -> {
+                write(csvWriter, entity);
+                highWaterMark[0] = Math.max(highWaterMark[0], getId(entity));
+            }, progress);
+            log.info(count + " new rows are exported from " + getFileName() + " after id " + lastId);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return highWaterMark[0];
+    }
+
+    protected abstract Stream<T> streamAfter(long lastId);
+
+    protected abstract long getId(T entity);
+}
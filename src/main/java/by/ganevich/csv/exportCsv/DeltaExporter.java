@@ -0,0 +1,122 @@
+package by.ganevich.csv.exportCsv;
+
+import by.ganevich.job.JobProgress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exports only the rows added since the previous run of every incremental
+ * exporter into a dated delta file. The highest exported id of an exporter is
+ * kept in a {@code .hwm} file and is moved forward only after its delta file
+ * is completely written to disk.
+ */
+@Component
+@Slf4j
+public class DeltaExporter {
+
+    static final String DELTA_MARKER = "-delta-";
+    static final String CSV_SUFFIX = ".csv";
+
+    private static final String MARK_SUFFIX = ".hwm";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Value("${export.delta.directory:export-delta}")
+    private String directory;
+
+    public Path getDirectory() {
+        return Paths.get(directory);
+    }
+
+    public List<Path> export(List<DeltaCsvExporter> exporters, JobProgress progress) throws IOException {
+        Files.createDirectories(getDirectory());
+        String timestamp = LocalDateTime.now().format(TIMESTAMP);
+
+        List<Path> deltas = new ArrayList<>();
+        for (DeltaCsvExporter exporter : exporters) {
+            String baseName = baseName(exporter.getFileName());
+            long lastId = readMark(baseName);
+            Path delta = getDirectory().resolve(baseName + DELTA_MARKER + timestamp + CSV_SUFFIX);
+
+            long highWaterMark;
+            try (FileChannel channel = FileChannel.open(delta, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                 OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+                highWaterMark = exporter.exportAfter(new NonClosingOutputStream(out), lastId, progress);
+                out.flush();
+                channel.force(true);
+            }
+
+            if (highWaterMark == lastId) {
+                Files.delete(delta);
+                log.info("There are no new rows in " + exporter.getFileName());
+                continue;
+            }
+            writeMark(baseName, highWaterMark);
+            deltas.add(delta);
+            log.info("Delta " + delta + " is exported, high-water mark " + highWaterMark);
+        }
+        return deltas;
+    }
+
+    static String baseName(String fileName) {
+        return fileName.endsWith(CSV_SUFFIX) ? fileName.substring(0, fileName.length() - CSV_SUFFIX.length()) : fileName;
+    }
+
+    private long readMark(String baseName) throws IOException {
+        Path mark = getDirectory().resolve(baseName + MARK_SUFFIX);
+        if (!Files.exists(mark)) {
+            return 0;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(mark), StandardCharsets.UTF_8).trim());
+    }
+
+    private void writeMark(String baseName, long highWaterMark) throws IOException {
+        Path mark = getDirectory().resolve(baseName + MARK_SUFFIX);
+        Path temp = mark.resolveSibling(mark.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(highWaterMark).getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+        Files.move(temp, mark, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Keeps the exporter from closing the file before it is forced to disk.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
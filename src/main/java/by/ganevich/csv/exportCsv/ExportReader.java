@@ -0,0 +1,42 @@
+package by.ganevich.csv.exportCsv;
+
+import by.ganevich.job.JobProgress;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Walks a whole table through a forward-only stream inside one read-only
+ * transaction and detaches every entity once it has been handed out, so the
+ * persistence context does not grow with the table. Progress is reported in
+ * batches of {@value #PROGRESS_ROWS} rows.
+ */
+@Component
+@Transactional(readOnly = true)
+public class ExportReader {
+
+    private static final int PROGRESS_ROWS = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> long forEach(Supplier<Stream<T>> query, Consumer<T> consumer, JobProgress progress) {
+        long count = 0;
+        try (Stream<T> entities = query.get()) {
+            for (T entity : (Iterable<T>) entities::iterator) {
+                consumer.accept(entity);
+                entityManager.detach(entity);
+                if (++count % PROGRESS_ROWS == 0) {
+                    progress.advance(PROGRESS_ROWS);
+                }
+            }
+        }
+        progress.advance(count % PROGRESS_ROWS);
+        return count;
+    }
+}
@@ -2,16 +2,19 @@ package by.ganevich.csv.exportCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvTransactionCsvMapper;
+import by.ganevich.entity.Transaction;
 import by.ganevich.service.BaseService;
 import by.ganevich.service.TransactionService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.stream.Stream;
+
 @Component
 @RequiredArgsConstructor
 @Getter
-public class TransactionExporter extends CsvExporter {
+public class TransactionExporter extends DeltaCsvExporter<Transaction> {
 
     private final TransactionService transactionService;
     private final CsvTransactionCsvMapper transactionMapper;
@@ -19,12 +22,22 @@ public class TransactionExporter extends CsvExporter {
     private final String fileName = "exportTransactions.csv";
 
     @Override
-    public BaseService getService() {
+    public BaseService<Transaction> getService() {
         return this.transactionService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<Transaction> getMapper() {
         return this.transactionMapper;
     }
+
+    @Override
+    protected Stream<Transaction> streamAfter(long lastId) {
+        return transactionService.streamAfter(lastId);
+    }
+
+    @Override
+    protected long getId(Transaction transaction) {
+        return transaction.getId();
+    }
 }
@@ -2,6 +2,7 @@ package by.ganevich.csv.importCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvBankAccountCsvMapper;
+import by.ganevich.entity.BankAccount;
 import by.ganevich.service.BankAccountService;
 import by.ganevich.service.BaseService;
 import lombok.Getter;
@@ -11,19 +12,24 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Getter
-public class BankAccountImporter extends CsvImporter {
+public class BankAccountImporter extends CsvImporter<BankAccount> {
 
     private final String fileName = "importBankAccounts.csv";
     private final BankAccountService bankAccountService;
     private final CsvBankAccountCsvMapper bankAccountMapper;
 
     @Override
-    public BaseService getService() {
+    public BaseService<BankAccount> getService() {
         return this.bankAccountService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<BankAccount> getMapper() {
         return this.bankAccountMapper;
     }
+
+    @Override
+    protected boolean isParallelParse() {
+        return true;
+    }
 }
@@ -2,6 +2,7 @@ package by.ganevich.csv.importCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvBankCsvMapper;
+import by.ganevich.entity.Bank;
 import by.ganevich.service.BankService;
 import by.ganevich.service.BaseService;
 import lombok.Getter;
@@ -11,7 +12,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Getter
-public class BankImporter extends CsvImporter {
+public class BankImporter extends CsvImporter<Bank> {
 
     private final String fileName = "importBanks.csv";
 
@@ -19,12 +20,12 @@ public class BankImporter extends CsvImporter {
     private final BankService bankService;
 
     @Override
-    public BaseService getService() {
+    public BaseService<Bank> getService() {
         return this.bankService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<Bank> getMapper() {
         return this.bankMapper;
     }
 }
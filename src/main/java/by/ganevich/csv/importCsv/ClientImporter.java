@@ -2,6 +2,7 @@ package by.ganevich.csv.importCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvClientCsvMapper;
+import by.ganevich.entity.Client;
 import by.ganevich.service.BaseService;
 import by.ganevich.service.ClientService;
 import lombok.Getter;
@@ -11,19 +12,19 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Getter
-public class ClientImporter extends CsvImporter {
+public class ClientImporter extends CsvImporter<Client> {
 
     private final String fileName = "importClients.csv";
     private final ClientService clientService;
     private final CsvClientCsvMapper clientMapper;
 
     @Override
-    public BaseService getService() {
+    public BaseService<Client> getService() {
         return this.clientService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<Client> getMapper() {
         return this.clientMapper;
     }
 }
@@ -1,36 +1,116 @@
 package by.ganevich.csv.importCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
+import by.ganevich.csv.csvMapper.ImportRow;
+import by.ganevich.csv.csvMapper.ImportRowReader;
+import by.ganevich.job.JobProgress;
 import by.ganevich.service.BaseService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public abstract class CsvImporter<T> {
 
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int REPORTED_ROWS = 50;
+
+    @Autowired
+    private ImportCheckpoints importCheckpoints;
+
+    @Autowired
+    private ImportChunkWriter importChunkWriter;
+
+    @Autowired
+    private ParallelCsvParser parallelCsvParser;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
     public abstract String getFileName();
 
-    public abstract BaseService getService();
+    public abstract BaseService<T> getService();
+
+    public abstract BaseCsvMapper<T> getMapper();
 
-    public abstract BaseCsvMapper getMapper();
+    /**
+     * Whether the file is parsed on the fork/join pool of {@link ParallelCsvParser}
+     * while this thread commits. Worth it for the large files only.
+     */
+    protected boolean isParallelParse() {
+        return false;
+    }
 
-    public void importCsv() throws IOException {
+    /**
+     * Imports the rows of the stream in chunks, one transaction per chunk.
+     * {@code source} identifies the file contents; a checkpoint left by an
+     * interrupted import of the same source makes the import skip the rows
+     * that are already committed. Progress is reported after every committed
+     * chunk, so a cancelled import stops on a checkpoint and can be resumed.
+     */
+    public long importCsv(InputStream in, String source, JobProgress progress) throws IOException {
         log.info("Import csv is called");
-        doImport(getFileName());
-        File file = new File(getFileName());
-        log.info("File " + file.getName() + "is successfully imported");
-        file.delete();
+
+        long offset = importCheckpoints.read(getFileName(), source);
+        if (offset > 0) {
+            log.info("Import of " + getFileName() + " is resumed after row " + offset);
+        }
+
+        try (ImportRowReader<T> reader = openReader(in)) {
+            reader.skip(offset);
+
+            List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+            for (ImportRow<T> row = reader.read(); row != null; row = reader.read()) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    offset = commitChunk(chunk, source, offset);
+                    progress.advance(chunk.size());
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                offset = commitChunk(chunk, source, offset);
+                progress.advance(chunk.size());
+            }
+        }
+
+        importCheckpoints.complete(getFileName());
+        log.info("File " + getFileName() + " is successfully imported, " + offset + " rows");
+        return offset;
     }
 
-    public void doImport(String fileName) throws IOException {
-        List<T> entities = getMapper()
-                .toEntity(fileName);
-        for (T entity : entities) {
-            getService().save(entity);
+    private ImportRowReader<T> openReader(InputStream in) {
+        if (isParallelParse()) {
+            return parallelCsvParser.reader(in, getMapper());
         }
+        return getMapper().reader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
     }
 
+    private long commitChunk(List<ImportRow<T>> chunk, String source, long offset) throws IOException {
+        long started = System.nanoTime();
+        List<String> unresolved = new ArrayList<>();
+        int saved = importChunkWriter.write(getService(), chunk, getMapper().getForeignKeys(), unresolved);
+        long committed = offset + chunk.size();
+        importCheckpoints.write(getFileName(), source, committed);
+
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+        log.info("Chunk of " + saved + " rows of " + getFileName() + " is committed in "
+                + micros / 1000 + " ms (" + chunk.size() * 1_000_000L / micros + " rows/s), offset " + committed);
+        if (!unresolved.isEmpty()) {
+            log.warn(unresolved.size() + " rows of " + getFileName() + " are skipped because of unresolved references: "
+                    + String.join("; ", unresolved.subList(0, Math.min(REPORTED_ROWS, unresolved.size())))
+                    + (unresolved.size() > REPORTED_ROWS ? "; ..." : ""));
+        }
+        return committed;
+    }
 }
@@ -0,0 +1,66 @@
+package by.ganevich.csv.importCsv;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Keeps the number of committed rows of every imported file, together with
+ * the source it was read from, so an interrupted import of the same source
+ * continues after the last committed chunk. A crash between a chunk commit
+ * and its checkpoint write imports that one chunk again.
+ */
+@Component
+@Slf4j
+public class ImportCheckpoints {
+
+    private static final String SUFFIX = ".checkpoint";
+
+    @Value("${import.checkpoint.directory:import-checkpoints}")
+    private String directory;
+
+    public long read(String fileName, String source) throws IOException {
+        Path checkpoint = pathOf(fileName);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        if (lines.size() < 2 || !lines.get(0).equals(source)) {
+            log.info("Checkpoint of " + fileName + " belongs to another source and is ignored");
+            return 0;
+        }
+        return Long.parseLong(lines.get(1));
+    }
+
+    public void write(String fileName, String source, long offset) throws IOException {
+        Path checkpoint = pathOf(fileName);
+        Files.createDirectories(checkpoint.toAbsolutePath().getParent());
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        byte[] content = (source + "\n" + offset + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(content));
+            channel.force(true);
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void complete(String fileName) throws IOException {
+        Files.deleteIfExists(pathOf(fileName));
+    }
+
+    private Path pathOf(String fileName) {
+        return Paths.get(directory, fileName + SUFFIX);
+    }
+}
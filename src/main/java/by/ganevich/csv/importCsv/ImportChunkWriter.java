@@ -0,0 +1,29 @@
+package by.ganevich.csv.importCsv;
+
+import by.ganevich.csv.csvMapper.ForeignKey;
+import by.ganevich.csv.csvMapper.ImportRow;
+import by.ganevich.service.BaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class ImportChunkWriter {
+
+    private final ReferenceResolver referenceResolver;
+
+    /**
+     * Resolves the references of the chunk and saves every resolvable row in
+     * one transaction. Skipped rows are described in {@code unresolved}.
+     */
+    public <T> int write(BaseService<T> service, List<ImportRow<T>> rows,
+                         List<ForeignKey<T, ?>> foreignKeys, List<String> unresolved) {
+        List<T> entities = referenceResolver.resolve(rows, foreignKeys, unresolved);
+        service.saveAll(entities);
+        return entities.size();
+    }
+}
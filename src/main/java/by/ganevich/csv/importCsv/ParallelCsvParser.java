@@ -0,0 +1,257 @@
+package by.ganevich.csv.importCsv;
+
+import by.ganevich.csv.csvMapper.BaseCsvMapper;
+import by.ganevich.csv.csvMapper.CsvRecordReader;
+import by.ganevich.csv.csvMapper.ImportRow;
+import by.ganevich.csv.csvMapper.ImportRowReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Parses csv input on a fork/join pool while the caller commits. A splitter
+ * thread cuts the input into blocks of about {@code import.parallel.block-size}
+ * bytes that end on a line boundary outside quotes, and every block is parsed
+ * as a task of its own. The parse futures are queued in input order, so the
+ * single reader consumes the rows exactly as a sequential parse would produce
+ * them. The queue holds at most {@code import.parallel.queue-blocks} blocks,
+ * which blocks the splitter when the committer falls behind and keeps memory bounded.
+ */
+@Component
+@Slf4j
+public class ParallelCsvParser {
+
+    @Value("${import.parallel.threads:0}")
+    private int threads;
+
+    @Value("${import.parallel.block-size:1048576}")
+    private int blockSize;
+
+    @Value("${import.parallel.queue-blocks:8}")
+    private int queueBlocks;
+
+    private ForkJoinPool parsePool;
+
+    @PostConstruct
+    public void start() {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        parsePool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("csv-parse-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        log.info("Csv parse pool is started with " + parallelism + " threads");
+    }
+
+    @PreDestroy
+    public void stop() {
+        parsePool.shutdownNow();
+    }
+
+    public <T> ImportRowReader<T> reader(InputStream in, BaseCsvMapper<T> mapper) {
+        return new ParallelRowReader<>(in, mapper);
+    }
+
+    private static final class ParsedBlock<T> {
+
+        private final List<ImportRow<T>> rows;
+        private final IOException error;
+
+        private ParsedBlock(List<ImportRow<T>> rows, IOException error) {
+            this.rows = rows;
+            this.error = error;
+        }
+    }
+
+    private final class ParallelRowReader<T> implements ImportRowReader<T> {
+
+        private final InputStream in;
+        private final BaseCsvMapper<T> mapper;
+        private final BlockingQueue<CompletableFuture<ParsedBlock<T>>> blocks;
+        private final Thread splitter;
+        private final CompletableFuture<ParsedBlock<T>> end = CompletableFuture.completedFuture(null);
+
+        private List<ImportRow<T>> rows = Collections.emptyList();
+        private IOException error;
+        private int index;
+        private long rowNumber;
+        private boolean finished;
+        private volatile boolean closed;
+
+        private ParallelRowReader(InputStream in, BaseCsvMapper<T> mapper) {
+            this.in = in;
+            this.mapper = mapper;
+            this.blocks = new ArrayBlockingQueue<>(queueBlocks);
+            this.splitter = new Thread(this::split, "csv-split");
+            this.splitter.setDaemon(true);
+            this.splitter.start();
+        }
+
+        @Override
+        public ImportRow<T> read() throws IOException {
+            while (index == rows.size()) {
+                if (error != null) {
+                    throw new IOException("Csv row " + (rowNumber + 1) + " can not be parsed", error.getCause());
+                }
+                if (finished || !nextBlock()) {
+                    finished = true;
+                    return null;
+                }
+            }
+            ImportRow<T> row = rows.get(index++);
+            return new ImportRow<>(++rowNumber, row.getEntity(), row.getReferences());
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = 0;
+            while (skipped < count && read() != null) {
+                skipped++;
+            }
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            splitter.interrupt();
+            try {
+                splitter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (CompletableFuture<ParsedBlock<T>> block : blocks) {
+                block.cancel(false);
+            }
+        }
+
+        private boolean nextBlock() throws IOException {
+            CompletableFuture<ParsedBlock<T>> future;
+            try {
+                future = blocks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Csv import is interrupted");
+            }
+            if (future == end) {
+                return false;
+            }
+            ParsedBlock<T> block;
+            try {
+                block = future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            rows = block.rows;
+            error = block.error;
+            index = 0;
+            return true;
+        }
+
+        private void split() {
+            try {
+                byte[] buffer = new byte[blockSize];
+                int filled = 0;
+                while (!closed) {
+                    int read = in.read(buffer, filled, buffer.length - filled);
+                    if (read > 0) {
+                        filled += read;
+                        if (filled < buffer.length) {
+                            continue;
+                        }
+                    }
+                    boolean eof = read < 0;
+                    int cut = eof ? filled : lastRecordEnd(buffer, filled);
+                    if (cut == 0 && !eof) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        continue;
+                    }
+                    if (cut > 0) {
+                        byte[] next = new byte[Math.max(blockSize, filled - cut)];
+                        System.arraycopy(buffer, cut, next, 0, filled - cut);
+                        byte[] block = buffer;
+                        int length = cut;
+                        blocks.put(CompletableFuture.supplyAsync(() -> parse(block, length), parsePool));
+                        buffer = next;
+                        filled -= cut;
+                    }
+                    if (eof) {
+                        blocks.put(end);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                CompletableFuture<ParsedBlock<T>> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                try {
+                    blocks.put(failed);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Returns the length of the leading part of the buffer that ends with a
+         * line break outside quotes, or 0 if there is none.
+         */
+        private int lastRecordEnd(byte[] buffer, int length) {
+            boolean quoted = false;
+            int end = 0;
+            for (int i = 0; i < length; i++) {
+                byte b = buffer[i];
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    end = i + 1;
+                }
+            }
+            return end;
+        }
+
+        private ParsedBlock<T> parse(byte[] block, int length) {
+            List<ImportRow<T>> parsed = new ArrayList<>();
+            try (CsvRecordReader<T> reader = mapper.reader(new InputStreamReader(
+                    new ByteArrayInputStream(block, 0, length), StandardCharsets.UTF_8))) {
+                for (ImportRow<T> row = reader.read(); row != null; row = reader.read()) {
+                    if (closed) {
+                        throw new CancellationException("Csv import is closed");
+                    }
+                    parsed.add(row);
+                }
+                return new ParsedBlock<>(parsed, null);
+            } catch (IOException e) {
+                return new ParsedBlock<>(parsed, e);
+            }
+        }
+    }
+}
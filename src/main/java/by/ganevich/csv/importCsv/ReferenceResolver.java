@@ -0,0 +1,141 @@
+package by.ganevich.csv.importCsv;
+
+import by.ganevich.csv.csvMapper.ForeignKey;
+import by.ganevich.csv.csvMapper.ImportRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Links imported rows to the entities their foreign key columns point at.
+ * The ids of a whole chunk are checked with {@code IN} queries of at most
+ * {@value #LOOKUP_BATCH_SIZE} ids per target entity, ids known in the current
+ * import run are kept in a bounded cache, and the links are set with
+ * uninitialized references, so no referenced entity is loaded.
+ * Must be called inside the transaction that saves the chunk.
+ */
+@Component
+@Slf4j
+public class ReferenceResolver {
+
+    /**
+     * Ids bound per {@code IN} query, well below the bind parameter limits of
+     * the JDBC drivers.
+     */
+    static final int LOOKUP_BATCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${import.reference-cache.size:100000}")
+    private int cacheSize;
+
+    private final Map<Class<?>, Set<Long>> knownIds = new HashMap<>();
+
+    /**
+     * Forgets the ids known from earlier runs. An id deleted since then would
+     * otherwise still pass as existing, so every import run starts with it.
+     */
+    public synchronized void startRun() {
+        knownIds.clear();
+    }
+
+    /**
+     * Sets the references of every row whose ids all exist and returns their
+     * entities. Every other row is described in {@code unresolved}.
+     */
+    public <T> List<T> resolve(List<ImportRow<T>> rows, List<ForeignKey<T, ?>> foreignKeys,
+                               List<String> unresolved) {
+        List<T> resolved = new ArrayList<>(rows.size());
+        if (foreignKeys.isEmpty()) {
+            rows.forEach(row -> resolved.add(row.getEntity()));
+            return resolved;
+        }
+
+        Map<Class<?>, Set<Long>> wanted = new HashMap<>();
+        for (ImportRow<T> row : rows) {
+            Long[] references = row.getReferences();
+            for (int i = 0; i < references.length; i++) {
+                if (references[i] != null) {
+                    wanted.computeIfAbsent(foreignKeys.get(i).getTarget(), target -> new HashSet<>())
+                            .add(references[i]);
+                }
+            }
+        }
+        Map<Class<?>, Set<Long>> existing = new HashMap<>();
+        wanted.forEach((target, ids) -> existing.put(target, findExisting(target, ids)));
+
+        for (ImportRow<T> row : rows) {
+            String missing = describeMissing(row, foreignKeys, existing);
+            if (missing != null) {
+                unresolved.add("row " + row.getRowNumber() + " (" + missing + ")");
+                continue;
+            }
+            Long[] references = row.getReferences();
+            for (int i = 0; i < references.length; i++) {
+                ForeignKey<T, ?> foreignKey = foreignKeys.get(i);
+                foreignKey.assign(row.getEntity(), entityManager.getReference(foreignKey.getTarget(), references[i]));
+            }
+            resolved.add(row.getEntity());
+        }
+        return resolved;
+    }
+
+    private <T> String describeMissing(ImportRow<T> row, List<ForeignKey<T, ?>> foreignKeys,
+                                       Map<Class<?>, Set<Long>> existing) {
+        StringBuilder missing = null;
+        Long[] references = row.getReferences();
+        for (int i = 0; i < references.length; i++) {
+            ForeignKey<T, ?> foreignKey = foreignKeys.get(i);
+            if (references[i] == null || !existing.get(foreignKey.getTarget()).contains(references[i])) {
+                missing = missing == null ? new StringBuilder() : missing.append(", ");
+                missing.append(foreignKey.getColumn()).append('=').append(references[i]);
+            }
+        }
+        return missing == null ? null : missing.toString();
+    }
+
+    private synchronized Set<Long> findExisting(Class<?> target, Set<Long> ids) {
+        Set<Long> cache = knownIds.computeIfAbsent(target, key -> newCache());
+        Set<Long> found = new HashSet<>();
+        List<Long> lookup = new ArrayList<>();
+        for (Long id : ids) {
+            if (cache.contains(id)) {
+                found.add(id);
+            } else {
+                lookup.add(id);
+            }
+        }
+        String entityName = entityManager.getMetamodel().entity(target).getName();
+        for (int from = 0; from < lookup.size(); from += LOOKUP_BATCH_SIZE) {
+            List<Long> batch = lookup.subList(from, Math.min(lookup.size(), from + LOOKUP_BATCH_SIZE));
+            List<Long> loaded = entityManager
+                    .createQuery("select e.id from " + entityName + " e where e.id in :ids", Long.class)
+                    .setParameter("ids", batch)
+                    .getResultList();
+            found.addAll(loaded);
+            cache.addAll(loaded);
+        }
+        return found;
+    }
+
+    private Set<Long> newCache() {
+        return Collections.newSetFromMap(new LinkedHashMap<Long, Boolean>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+}
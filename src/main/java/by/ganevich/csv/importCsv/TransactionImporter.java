@@ -2,6 +2,7 @@ package by.ganevich.csv.importCsv;
 
 import by.ganevich.csv.csvMapper.BaseCsvMapper;
 import by.ganevich.csv.csvMapper.CsvTransactionCsvMapper;
+import by.ganevich.entity.Transaction;
 import by.ganevich.service.BaseService;
 import by.ganevich.service.TransactionService;
 import lombok.Getter;
@@ -11,19 +12,24 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 @Getter
-public class TransactionImporter extends CsvImporter {
+public class TransactionImporter extends CsvImporter<Transaction> {
 
     private final String fileName = "importTransactions.csv";
     private final TransactionService transactionService;
     private final CsvTransactionCsvMapper transactionMapper;
 
     @Override
-    public BaseService getService() {
+    public BaseService<Transaction> getService() {
         return this.transactionService;
     }
 
     @Override
-    public BaseCsvMapper getMapper() {
+    public BaseCsvMapper<Transaction> getMapper() {
         return this.transactionMapper;
     }
+
+    @Override
+    protected boolean isParallelParse() {
+        return true;
+    }
 }
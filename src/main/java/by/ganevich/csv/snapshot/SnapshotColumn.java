@@ -0,0 +1,27 @@
+package by.ganevich.csv.snapshot;
+
+/**
+ * Sections of a transaction snapshot. Client and account ids are stored once
+ * in the two dictionaries; the reference columns hold indexes into them.
+ */
+public enum SnapshotColumn {
+    ID(Long.BYTES),
+    DATE(Integer.BYTES),
+    AMOUNT_OF_MONEY(Long.BYTES),
+    SENDER(Integer.BYTES),
+    RECEIVER(Integer.BYTES),
+    SENDER_ACCOUNT(Integer.BYTES),
+    RECEIVER_ACCOUNT(Integer.BYTES),
+    CLIENTS(Long.BYTES),
+    ACCOUNTS(Long.BYTES);
+
+    private final int width;
+
+    SnapshotColumn(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+}
@@ -0,0 +1,108 @@
+package by.ganevich.csv.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Memory-maps the sections of a snapshot written by {@link SnapshotWriter}.
+ * Columns are exposed as read-only primitive buffers, so rows are decoded
+ * straight from the page cache without an intermediate copy.
+ */
+public class SnapshotReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final long rowCount;
+    private final Map<SnapshotColumn, Section> sections = new EnumMap<>(SnapshotColumn.class);
+
+    public SnapshotReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < SnapshotWriter.HEADER_SIZE) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SnapshotWriter.HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != SnapshotWriter.MAGIC || header.getInt() != SnapshotWriter.VERSION) {
+                throw new IOException("File " + path + " is not a transaction snapshot");
+            }
+            rowCount = header.getLong();
+            int sectionCount = header.getInt();
+            for (int i = 0; i < sectionCount; i++) {
+                SnapshotColumn column = SnapshotColumn.values()[header.getInt()];
+                Section section = new Section(header.getLong(), header.getLong(), header.getLong(), header.getLong());
+                if (section.offset + section.count * column.getWidth() > channel.size()) {
+                    throw new IOException("Snapshot " + path + " is truncated at column " + column);
+                }
+                sections.put(column, section);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getMin(SnapshotColumn column) {
+        return sections.get(column).min;
+    }
+
+    public long getMax(SnapshotColumn column) {
+        return sections.get(column).max;
+    }
+
+    public LongBuffer longColumn(SnapshotColumn column) throws IOException {
+        return map(column, Long.BYTES).asLongBuffer();
+    }
+
+    public IntBuffer intColumn(SnapshotColumn column) throws IOException {
+        return map(column, Integer.BYTES).asIntBuffer();
+    }
+
+    public long[] dictionary(SnapshotColumn column) throws IOException {
+        LongBuffer buffer = longColumn(column);
+        long[] ids = new long[buffer.remaining()];
+        buffer.get(ids);
+        return ids;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer map(SnapshotColumn column, int width) throws IOException {
+        if (column.getWidth() != width) {
+            throw new IllegalArgumentException("Column " + column + " is " + column.getWidth() + " bytes wide");
+        }
+        Section section = sections.get(column);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, section.offset, section.count * width);
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static final class Section {
+
+        private final long count;
+        private final long offset;
+        private final long min;
+        private final long max;
+
+        private Section(long count, long offset, long min, long max) {
+            this.count = count;
+            this.offset = offset;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package by.ganevich.csv.snapshot;
+
+import by.ganevich.entity.Transaction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes transactions column by column. Every column goes to its own temp
+ * file through a direct buffer while rows arrive; {@link #finish()} appends
+ * the dictionaries, writes the header and copies the columns behind it.
+ *
+ * <p>Layout, little-endian: magic, version, row count, section count, then per
+ * section its ordinal, value count, offset, min and max (dictionary-encoded
+ * columns keep statistics of the decoded ids), then the 8-byte aligned sections.
+ */
+public class SnapshotWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x54585331;
+    static final int VERSION = 1;
+    static final int SECTION_HEADER_SIZE = Integer.BYTES + 4 * Long.BYTES;
+    static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES + Integer.BYTES
+            + SnapshotColumn.values().length * SECTION_HEADER_SIZE;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Map<SnapshotColumn, ColumnFile> columns = new EnumMap<>(SnapshotColumn.class);
+    private final Map<Long, Integer> clients = new HashMap<>();
+    private final Map<Long, Integer> accounts = new HashMap<>();
+    private long rowCount;
+
+    public SnapshotWriter(Path target) throws IOException {
+        this.target = target;
+        for (SnapshotColumn column : SnapshotColumn.values()) {
+            columns.put(column, new ColumnFile(target.resolveSibling(target.getFileName() + "." + column.name() + ".tmp")));
+        }
+    }
+
+    public void write(Transaction transaction) throws IOException {
+        columns.get(SnapshotColumn.ID).putLong(transaction.getId(), transaction.getId());
+        columns.get(SnapshotColumn.DATE).putInt((int) transaction.getDate().toLocalDate().toEpochDay());
+        columns.get(SnapshotColumn.AMOUNT_OF_MONEY).putLong(transaction.getAmountOfMoney(), transaction.getAmountOfMoney());
+        putReference(SnapshotColumn.SENDER, clients, transaction.getSender().getId());
+        putReference(SnapshotColumn.RECEIVER, clients, transaction.getReceiver().getId());
+        putReference(SnapshotColumn.SENDER_ACCOUNT, accounts, transaction.getSenderAccount().getId());
+        putReference(SnapshotColumn.RECEIVER_ACCOUNT, accounts, transaction.getReceiverAccount().getId());
+        rowCount++;
+    }
+
+    public long finish() throws IOException {
+        writeDictionary(SnapshotColumn.CLIENTS, clients);
+        writeDictionary(SnapshotColumn.ACCOUNTS, accounts);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(rowCount).putInt(columns.size());
+        long offset = align(HEADER_SIZE);
+        for (Map.Entry<SnapshotColumn, ColumnFile> entry : columns.entrySet()) {
+            ColumnFile column = entry.getValue();
+            column.flush();
+            header.putInt(entry.getKey().ordinal())
+                    .putLong(column.count)
+                    .putLong(offset)
+                    .putLong(column.min)
+                    .putLong(column.max);
+            offset = align(offset + column.count * entry.getKey().getWidth());
+        }
+        header.flip();
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(header);
+            long position = align(HEADER_SIZE);
+            for (Map.Entry<SnapshotColumn, ColumnFile> entry : columns.entrySet()) {
+                ColumnFile column = entry.getValue();
+                long size = column.channel.size();
+                for (long copied = 0; copied < size; ) {
+                    copied += column.channel.transferTo(copied, size - copied, out.position(position + copied));
+                }
+                position = align(position + size);
+            }
+            out.force(true);
+        }
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ColumnFile column : columns.values()) {
+            column.channel.close();
+            Files.deleteIfExists(column.path);
+        }
+    }
+
+    private void putReference(SnapshotColumn column, Map<Long, Integer> dictionary, Long id) throws IOException {
+        Integer index = dictionary.get(id);
+        if (index == null) {
+            index = dictionary.size();
+            dictionary.put(id, index);
+        }
+        columns.get(column).putInt(index, id);
+    }
+
+    private void writeDictionary(SnapshotColumn column, Map<Long, Integer> dictionary) throws IOException {
+        long[] ids = new long[dictionary.size()];
+        dictionary.forEach((id, index) -> ids[index] = id);
+        ColumnFile columnFile = columns.get(column);
+        for (long id : ids) {
+            columnFile.putLong(id, id);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    private static final class ColumnFile {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long count;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        private ColumnFile(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private void putLong(long value, long statistic) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+            record(statistic);
+        }
+
+        private void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+            record(value);
+        }
+
+        private void putInt(int value, long statistic) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+            record(statistic);
+        }
+
+        private void record(long statistic) {
+            count++;
+            min = Math.min(min, statistic);
+            max = Math.max(max, statistic);
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
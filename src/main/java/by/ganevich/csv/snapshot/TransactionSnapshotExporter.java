@@ -0,0 +1,61 @@
+package by.ganevich.csv.snapshot;
+
+import by.ganevich.csv.exportCsv.ExportReader;
+import by.ganevich.entity.Transaction;
+import by.ganevich.job.JobProgress;
+import by.ganevich.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSnapshotExporter {
+
+    private final ExportReader exportReader;
+    private final TransactionService transactionService;
+
+    /**
+     * Writes all transactions to a columnar snapshot. The file is assembled
+     * next to {@code target} and moved over it only once it is complete.
+     */
+    public long export(Path target, JobProgress progress) throws IOException {
+        log.info("Snapshot export is called");
+        progress.expect(transactionService.count());
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+
+        long count;
+        try {
+            try (SnapshotWriter snapshotWriter = new SnapshotWriter(temp)) {
+                exportReader.forEach(transactionService::streamAll, transaction -> write(snapshotWriter, transaction),
+                        progress);
+                count = snapshotWriter.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // left behind only when the export failed, the move consumes it otherwise
+            Files.deleteIfExists(temp);
+        }
+
+        log.info(count + " transactions are exported to snapshot " + target + ", " + Files.size(target) + " bytes");
+        return count;
+    }
+
+    private void write(SnapshotWriter snapshotWriter, Transaction transaction) {
+        try {
+            snapshotWriter.write(transaction);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package by.ganevich.csv.snapshot;
+
+import by.ganevich.csv.csvMapper.CsvTransactionCsvMapper;
+import by.ganevich.csv.csvMapper.ImportRow;
+import by.ganevich.csv.importCsv.ImportCheckpoints;
+import by.ganevich.csv.importCsv.ImportChunkWriter;
+import by.ganevich.entity.Transaction;
+import by.ganevich.job.JobProgress;
+import by.ganevich.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSnapshotImporter {
+
+    private static final String FILE_NAME = "transactions.snapshot";
+
+    private final ImportCheckpoints importCheckpoints;
+    private final ImportChunkWriter importChunkWriter;
+    private final TransactionService transactionService;
+    private final CsvTransactionCsvMapper transactionMapper;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Restores the transactions of a snapshot in checkpointed chunks. Rows are
+     * decoded from the mapped columns and go through the same reference
+     * resolution as the csv import, so the references are stored in the
+     * order of {@link CsvTransactionCsvMapper#getForeignKeys()}.
+     */
+    public long importSnapshot(Path path, JobProgress progress) throws IOException {
+        log.info("Snapshot import is called");
+        String source = path.toAbsolutePath() + "@" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+
+        long offset = importCheckpoints.read(FILE_NAME, source);
+        try (SnapshotReader snapshotReader = new SnapshotReader(path)) {
+            long rowCount = snapshotReader.getRowCount();
+            progress.expect(rowCount - offset);
+            if (rowCount == 0) {
+                // an empty column keeps its initial min and max, which are not dates
+                log.info("Snapshot " + path + " has no transactions");
+            } else {
+                log.info("Snapshot " + path + " has " + rowCount + " transactions, dates "
+                        + LocalDate.ofEpochDay(snapshotReader.getMin(SnapshotColumn.DATE)) + " - "
+                        + LocalDate.ofEpochDay(snapshotReader.getMax(SnapshotColumn.DATE)));
+            }
+            if (offset > 0) {
+                log.info("Snapshot import is resumed after row " + offset);
+            }
+
+            LongBuffer amounts = snapshotReader.longColumn(SnapshotColumn.AMOUNT_OF_MONEY);
+            IntBuffer dates = snapshotReader.intColumn(SnapshotColumn.DATE);
+            IntBuffer senders = snapshotReader.intColumn(SnapshotColumn.SENDER);
+            IntBuffer receivers = snapshotReader.intColumn(SnapshotColumn.RECEIVER);
+            IntBuffer senderAccounts = snapshotReader.intColumn(SnapshotColumn.SENDER_ACCOUNT);
+            IntBuffer receiverAccounts = snapshotReader.intColumn(SnapshotColumn.RECEIVER_ACCOUNT);
+            long[] clients = snapshotReader.dictionary(SnapshotColumn.CLIENTS);
+            long[] accounts = snapshotReader.dictionary(SnapshotColumn.ACCOUNTS);
+
+            while (offset < rowCount) {
+                int end = (int) Math.min(rowCount, offset + chunkSize);
+                List<ImportRow<Transaction>> chunk = new ArrayList<>(end - (int) offset);
+                for (int row = (int) offset; row < end; row++) {
+                    Transaction transaction = new Transaction();
+                    transaction.setAmountOfMoney(amounts.get(row));
+                    transaction.setDate(Date.valueOf(LocalDate.ofEpochDay(dates.get(row))));
+                    chunk.add(new ImportRow<>(row + 1L, transaction, new Long[]{
+                            clients[senders.get(row)],
+                            clients[receivers.get(row)],
+                            accounts[senderAccounts.get(row)],
+                            accounts[receiverAccounts.get(row)]
+                    }));
+                }
+
+                List<String> unresolved = new ArrayList<>();
+                int saved = importChunkWriter.write(transactionService, chunk, transactionMapper.getForeignKeys(),
+                        unresolved);
+                offset = end;
+                importCheckpoints.write(FILE_NAME, source, offset);
+                log.info("Chunk of " + saved + " transactions of the snapshot is committed, offset " + offset);
+                if (!unresolved.isEmpty()) {
+                    log.warn(unresolved.size() + " transactions are skipped because of unresolved references");
+                }
+                progress.advance(chunk.size());
+            }
+        }
+
+        importCheckpoints.complete(FILE_NAME);
+        log.info("Snapshot " + path + " is successfully imported, " + offset + " rows");
+        return offset;
+    }
+}
@@ -1,5 +1,8 @@
 package by.ganevich.dto;
 
+import by.ganevich.entity.ClientType;
+import by.ganevich.entity.Currency;
+import by.ganevich.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -36,4 +39,11 @@ public class BankAccountDto {
     @Valid
     @NotNull(message = "Bank with entered name not found!")
     private BankDto bankProducer;
+
+    public BankAccountDto(Long id, Integer number, Currency currency, long amountOfMoney,
+                          Long ownerId, String ownerName, ClientType ownerType,
+                          Long bankId, String bankName) {
+        this(id, String.valueOf(number), currency.name(), Money.format(amountOfMoney),
+                new ClientDto(ownerId, ownerName, ownerType), new BankDto(bankId, bankName));
+    }
 }
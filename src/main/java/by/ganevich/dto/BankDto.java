@@ -8,6 +8,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
+import java.util.HashSet;
 import java.util.Set;
 
 @Data
@@ -24,4 +25,8 @@ public class BankDto {
 
     @Valid
     private Set<CommissionDto> commissions;
+
+    public BankDto(Long id, String name) {
+        this(id, name, new HashSet<>());
+    }
 }
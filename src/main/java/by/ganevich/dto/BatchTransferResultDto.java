@@ -0,0 +1,28 @@
+package by.ganevich.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResultDto {
+
+    public static final String COMPLETED = "COMPLETED";
+    public static final String REJECTED = "REJECTED";
+    public static final String INVALID = "INVALID";
+
+    private Integer line;
+
+    private String senderAccountNumber;
+
+    private String receiverAccountNumber;
+
+    private String amountOfMoney;
+
+    private String status;
+
+    private String message;
+
+}
@@ -1,5 +1,6 @@
 package by.ganevich.dto;
 
+import by.ganevich.entity.ClientType;
 import by.ganevich.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,4 +27,8 @@ public class ClientDto {
     private String type;
 
     private User user;
+
+    public ClientDto(Long id, String name, ClientType type) {
+        this(id, name, type.name(), null);
+    }
 }
@@ -21,7 +21,8 @@ public class ConductTransactionDto {
     @NotEmpty(message = "Receiver account number must not be empty")
     private String receiverAccountNumber;
 
-    @Pattern(regexp = "\\(?\\d+\\.\\d+\\)?")
+    @Pattern(regexp = "(?!0*\\.0*$)\\d+\\.\\d{1,2}",
+            message = "Amount of money must be positive and have at most two fraction digits")
     @NotEmpty(message = "Amount of money must not be empty")
     private String amountOfMoney;
 
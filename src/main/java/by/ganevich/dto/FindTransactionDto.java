@@ -23,4 +23,6 @@ public class FindTransactionDto {
     @NotEmpty(message = "Date must not be empty")
     private String dateAfter;
 
+    private String cursor;
+
 }
@@ -0,0 +1,36 @@
+package by.ganevich.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDto {
+
+    private Long id;
+
+    private String type;
+
+    private String description;
+
+    private String status;
+
+    private Long rowsProcessed;
+
+    private Long rowsPerSecond;
+
+    private Integer percent;
+
+    private Long etaSeconds;
+
+    private Long submittedAt;
+
+    private Long startedAt;
+
+    private Long finishedAt;
+
+    private String message;
+
+}
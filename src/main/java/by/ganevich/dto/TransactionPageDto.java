@@ -0,0 +1,18 @@
+package by.ganevich.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageDto {
+
+    private List<TransactionDto> transactions;
+
+    private String nextCursor;
+
+}
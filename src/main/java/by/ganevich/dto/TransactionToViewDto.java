@@ -14,7 +14,7 @@ import javax.validation.constraints.Pattern;
 @AllArgsConstructor
 public class TransactionToViewDto {
 
-    @Pattern(regexp = "^sent$|^received$")
+    @Pattern(regexp = "^sent$|^received$|^all$")
     @NotEmpty(message = "Type must not be empty")
     private String type;
 
@@ -30,4 +30,7 @@ public class TransactionToViewDto {
     @NotEmpty(message = "DateAfter must not be empty")
     private String dateAfter;
 
+    @Pattern(regexp = "^[A-Za-z0-9_-]*$", message = "Cursor is malformed")
+    private String cursor;
+
 }
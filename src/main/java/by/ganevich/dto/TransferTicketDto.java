@@ -0,0 +1,24 @@
+package by.ganevich.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferTicketDto {
+
+    private String idempotencyKey;
+
+    private String senderAccountNumber;
+
+    private String receiverAccountNumber;
+
+    private String amountOfMoney;
+
+    private String status;
+
+    private String message;
+
+}
@@ -0,0 +1,109 @@
+package by.ganevich.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks by account number. The stripes of a transfer are always taken
+ * in ascending stripe order, so two transfers can never wait on each other.
+ */
+@Component
+@Slf4j
+public class AccountLockManager {
+
+    @Value("${transfer.lock.stripes:64}")
+    private int stripeCount;
+
+    @Value("${transfer.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    private ReentrantLock[] stripes;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contentions = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhaustedRetries = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLocks(Integer firstAccountNumber, Integer secondAccountNumber, Supplier<T> action) {
+        return withLocks(List.of(firstAccountNumber, secondAccountNumber), action);
+    }
+
+    public <T> T withLocks(Collection<Integer> accountNumbers, Supplier<T> action) {
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Integer accountNumber : accountNumbers) {
+            stripeIndexes.add(stripeOf(accountNumber));
+        }
+
+        Deque<ReentrantLock> acquired = new ArrayDeque<>(stripeIndexes.size());
+        try {
+            for (Integer index : stripeIndexes) {
+                lock(stripes[index]);
+                acquired.push(stripes[index]);
+            }
+            return action.get();
+        } finally {
+            while (!acquired.isEmpty()) {
+                acquired.pop().unlock();
+            }
+        }
+    }
+
+    public <T> T withRetry(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhaustedRetries.increment();
+                    log.error("Bank accounts were changed concurrently, giving up after " + attempt + " attempts.");
+                    throw e;
+                }
+                retries.increment();
+                log.warn("Bank accounts were changed concurrently, retrying. Attempt " + attempt);
+            }
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("acquisitions", acquisitions.sum());
+        metrics.put("contentions", contentions.sum());
+        metrics.put("retries", retries.sum());
+        metrics.put("exhaustedRetries", exhaustedRetries.sum());
+        return metrics;
+    }
+
+    private void lock(ReentrantLock lock) {
+        acquisitions.increment();
+        if (!lock.tryLock()) {
+            contentions.increment();
+            lock.lock();
+        }
+    }
+
+    private int stripeOf(Integer accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), stripes.length);
+    }
+}
@@ -0,0 +1,20 @@
+package by.ganevich.engine;
+
+import by.ganevich.entity.ClientType;
+import by.ganevich.entity.Currency;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AccountSnapshot {
+
+    private final Long id;
+    private final Integer number;
+    private final Currency currency;
+    private final long amountOfMoney;
+    private final Long ownerId;
+    private final ClientType ownerType;
+    private final Long bankId;
+
+}
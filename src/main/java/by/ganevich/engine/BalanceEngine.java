@@ -0,0 +1,258 @@
+package by.ganevich.engine;
+
+import by.ganevich.cache.CurrencyConverter;
+import by.ganevich.exception.AccountNotFoundException;
+import by.ganevich.money.Money;
+import by.ganevich.service.CommissionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps account balances in memory, sharded by account number, and writes
+ * balance deltas and transactions behind to the database. Accounts changed
+ * outside the engine are evicted and loaded again; the load and the write-behind
+ * share one lock, so a loaded balance counts every delta exactly once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceEngine {
+
+    private final BalanceStore balanceStore;
+    private final CurrencyConverter currencyConverter;
+    private final CommissionService commissionService;
+
+    @Value("${balance.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${balance.engine.shards:4}")
+    private int shardCount;
+
+    @Value("${balance.engine.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${balance.engine.reload-interval-ms:60000}")
+    private long reloadIntervalMs;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Map<Integer, AccountSnapshot> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingTransfer> pendingTransfers = new ConcurrentLinkedQueue<>();
+
+    private BalanceShard[] shards;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        shards = new BalanceShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new BalanceShard(i, this::loadBalance);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (reloadIntervalMs > 0) {
+            flusher.scheduleWithFixedDelay(this::evictAll, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Balance engine is started with " + shardCount + " shards.");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean transfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney) {
+        return transfer(senderAccountNumber, receiverAccountNumber, sumOfMoney, System.currentTimeMillis());
+    }
+
+    public boolean transfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney, long date) {
+        AccountSnapshot sender = accounts.computeIfAbsent(senderAccountNumber, balanceStore::loadAccount);
+        AccountSnapshot receiver = accounts.computeIfAbsent(receiverAccountNumber, balanceStore::loadAccount);
+        if (sender == null || receiver == null) {
+            log.warn("Transfer from " + senderAccountNumber + " to " + receiverAccountNumber
+                    + " is rejected: account is not found.");
+            return false;
+        }
+
+        long convertSum = currencyConverter.convert(sumOfMoney, sender.getCurrency(), receiver.getCurrency());
+
+        long sumWithCommission;
+        if (sender.getBankId().equals(receiver.getBankId())) {
+            sumWithCommission = sumOfMoney;
+        } else {
+            sumWithCommission = sumOfMoney + Money.applyRatio(sumOfMoney, commissionService
+                    .findCommissionByClientTypeAndBankId(sender.getOwnerType().ordinal(), sender.getBankId()));
+        }
+
+        return apply(sender, receiver, sumOfMoney, sumWithCommission, convertSum, date);
+    }
+
+    /**
+     * Applies a transfer priced by the caller, returns false when the sender has
+     * not enough money. Throws {@link AccountNotFoundException} when one of the
+     * accounts no longer exists.
+     */
+    public boolean transfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney,
+                            long sumWithCommission, long convertSum) {
+        AccountSnapshot sender = accounts.computeIfAbsent(senderAccountNumber, balanceStore::loadAccount);
+        AccountSnapshot receiver = accounts.computeIfAbsent(receiverAccountNumber, balanceStore::loadAccount);
+        if (sender == null || receiver == null) {
+            throw new AccountNotFoundException("Bank account is not found");
+        }
+        return apply(sender, receiver, sumOfMoney, sumWithCommission, convertSum, System.currentTimeMillis());
+    }
+
+    public void flush() {
+        try {
+            flushNow();
+        } catch (RuntimeException e) {
+            log.error("Write-behind of balances failed, it will be retried: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes behind everything applied so far and fails if it can not be
+     * written, the changes are kept for the next attempt then.
+     */
+    public void flushNow() {
+        flushLock.lock();
+        try {
+            Map<Integer, Long> deltas = new HashMap<>();
+            for (BalanceShard shard : shards) {
+                deltas.putAll(shard.drainDirty());
+            }
+            List<PendingTransfer> transfers = new ArrayList<>();
+            PendingTransfer transfer;
+            while ((transfer = pendingTransfers.poll()) != null) {
+                transfers.add(transfer);
+            }
+            if (deltas.isEmpty() && transfers.isEmpty()) {
+                return;
+            }
+
+            try {
+                balanceStore.persist(deltas, transfers);
+            } catch (RuntimeException e) {
+                deltas.forEach((number, delta) -> shardOf(number).restoreDirty(number, delta));
+                pendingTransfers.addAll(transfers);
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the engine load the accounts again after the current transaction
+     * commits, for balances that were changed outside the engine.
+     */
+    public void evict(Collection<Integer> accountNumbers) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(accountNumbers);
+                }
+            });
+        } else {
+            doEvict(accountNumbers);
+        }
+    }
+
+    public void evictAll() {
+        if (!enabled) {
+            return;
+        }
+        accounts.clear();
+        for (BalanceShard shard : shards) {
+            shard.evictAll().join();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        for (BalanceShard shard : shards) {
+            shard.shutdown();
+        }
+        flush();
+        log.info("Balance engine is stopped.");
+    }
+
+    private void doEvict(Collection<Integer> accountNumbers) {
+        for (Integer number : accountNumbers) {
+            accounts.remove(number);
+            shardOf(number).evict(number).join();
+        }
+    }
+
+    private boolean apply(AccountSnapshot sender, AccountSnapshot receiver, long sumOfMoney,
+                          long sumWithCommission, long convertSum, long date) {
+        Integer senderAccountNumber = sender.getNumber();
+        Integer receiverAccountNumber = receiver.getNumber();
+        boolean debited = shardOf(senderAccountNumber).debit(sender, sumOfMoney, sumWithCommission)
+                .thenCompose(success -> {
+                    if (!success) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    pendingTransfers.add(new PendingTransfer(sender.getId(), receiver.getId(),
+                            sender.getOwnerId(), receiver.getOwnerId(), sumOfMoney, date));
+                    return shardOf(receiverAccountNumber).credit(receiver, convertSum).thenApply(ignored -> true);
+                })
+                .join();
+
+        if (debited) {
+            log.info("Transaction from account " + senderAccountNumber + " to account " + receiverAccountNumber
+                    + " was applied in memory.");
+        }
+        return debited;
+    }
+
+    /**
+     * Runs on the writer thread of the shard of the account.
+     */
+    private long loadBalance(Integer accountNumber) {
+        flushLock.lock();
+        try {
+            return balanceStore.loadAmountOfMoney(accountNumber) + shardOf(accountNumber).pendingDelta(accountNumber);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private BalanceShard shardOf(Integer accountNumber) {
+        return shards[Math.floorMod(accountNumber, shards.length)];
+    }
+}
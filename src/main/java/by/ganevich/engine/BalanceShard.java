@@ -0,0 +1,110 @@
+package by.ganevich.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Owns the balances of a subset of accounts. All balance changes are applied
+ * on the single writer thread of the shard, so no locking is needed around them.
+ * Changes are also summed up per account as deltas, which is what is written
+ * behind, so balance changes made outside the engine are never overwritten.
+ */
+@Slf4j
+public class BalanceShard {
+
+    private final ExecutorService writer;
+
+    private final Map<Integer, AccountBalance> balances = new HashMap<>();
+
+    private final ConcurrentHashMap<Integer, Long> dirty = new ConcurrentHashMap<>();
+
+    private final ToLongFunction<Integer> loader;
+
+    public BalanceShard(int index, ToLongFunction<Integer> loader) {
+        this.loader = loader;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<Boolean> debit(AccountSnapshot account, long sum, long sumWithCommission) {
+        return CompletableFuture.supplyAsync(() -> {
+            AccountBalance balance = balanceOf(account);
+            if (sum > balance.amount) {
+                return false;
+            }
+            balance.amount -= sumWithCommission;
+            dirty.merge(account.getNumber(), -sumWithCommission, Long::sum);
+            return true;
+        }, writer);
+    }
+
+    public CompletableFuture<Void> credit(AccountSnapshot account, long sum) {
+        return CompletableFuture.runAsync(() -> {
+            AccountBalance balance = balanceOf(account);
+            balance.amount += sum;
+            dirty.merge(account.getNumber(), sum, Long::sum);
+        }, writer);
+    }
+
+    public Map<Integer, Long> drainDirty() {
+        Map<Integer, Long> drained = new HashMap<>();
+        for (Integer number : dirty.keySet()) {
+            Long amount = dirty.remove(number);
+            if (amount != null) {
+                drained.put(number, amount);
+            }
+        }
+        return drained;
+    }
+
+    public void restoreDirty(Integer number, Long delta) {
+        dirty.merge(number, delta, Long::sum);
+    }
+
+    /**
+     * Delta of the account that is not written behind yet.
+     */
+    public long pendingDelta(Integer number) {
+        return dirty.getOrDefault(number, 0L);
+    }
+
+    /**
+     * Forgets the balance of the account, it is loaded again on next use.
+     */
+    public CompletableFuture<Void> evict(Integer number) {
+        return CompletableFuture.runAsync(() -> balances.remove(number), writer);
+    }
+
+    public CompletableFuture<Void> evictAll() {
+        return CompletableFuture.runAsync(balances::clear, writer);
+    }
+
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private AccountBalance balanceOf(AccountSnapshot account) {
+        return balances.computeIfAbsent(account.getNumber(), number -> new AccountBalance(loader.applyAsLong(number)));
+    }
+
+    private static class AccountBalance {
+
+        private long amount;
+
+        AccountBalance(long amount) {
+            this.amount = amount;
+        }
+    }
+}
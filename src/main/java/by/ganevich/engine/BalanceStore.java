@@ -0,0 +1,62 @@
+package by.ganevich.engine;
+
+import by.ganevich.entity.Transaction;
+import by.ganevich.repository.BankAccountRepository;
+import by.ganevich.repository.ClientRepository;
+import by.ganevich.repository.TransactionRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@AllArgsConstructor
+@Slf4j
+@Transactional
+public class BalanceStore {
+
+    private final BankAccountRepository bankAccountRepository;
+    private final ClientRepository clientRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Transactional(readOnly = true)
+    public AccountSnapshot loadAccount(Integer number) {
+        return bankAccountRepository.findSnapshotByNumber(number);
+    }
+
+    @Transactional(readOnly = true)
+    public long loadAmountOfMoney(Integer number) {
+        Long amountOfMoney = bankAccountRepository.findAmountOfMoneyByNumber(number);
+        return amountOfMoney == null ? 0 : amountOfMoney;
+    }
+
+    /**
+     * Adds the balance deltas and inserts the transactions in one database
+     * transaction of their own, so a caller's rollback does not lose them.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void persist(Map<Integer, Long> deltas, List<PendingTransfer> transfers) {
+        deltas.forEach(bankAccountRepository::addAmountOfMoney);
+
+        List<Transaction> transactions = new ArrayList<>(transfers.size());
+        for (PendingTransfer transfer : transfers) {
+            Transaction transaction = new Transaction();
+            transaction.setDate(new Date(transfer.getDate()));
+            transaction.setAmountOfMoney(transfer.getAmountOfMoney());
+            transaction.setSenderAccount(bankAccountRepository.getById(transfer.getSenderAccountId()));
+            transaction.setReceiverAccount(bankAccountRepository.getById(transfer.getReceiverAccountId()));
+            transaction.setSender(clientRepository.getById(transfer.getSenderId()));
+            transaction.setReceiver(clientRepository.getById(transfer.getReceiverId()));
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+
+        log.info(deltas.size() + " balances and " + transfers.size() + " transactions are written behind.");
+    }
+}
@@ -0,0 +1,17 @@
+package by.ganevich.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PendingTransfer {
+
+    private final Long senderAccountId;
+    private final Long receiverAccountId;
+    private final Long senderId;
+    private final Long receiverId;
+    private final long amountOfMoney;
+    private final long date;
+
+}
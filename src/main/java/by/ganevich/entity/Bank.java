@@ -2,11 +2,15 @@ package by.ganevich.entity;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @Table(name = "banks")
@@ -19,7 +23,8 @@ import java.util.Set;
 public class Bank {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "banks-id-generator")
+    @SequenceGenerator(name = "banks-id-generator", sequenceName = "banks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name")
@@ -36,6 +41,7 @@ public class Bank {
             mappedBy = "bank",
             cascade = CascadeType.ALL
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Commission> commissions;
 
     @Override
@@ -1,5 +1,6 @@
 package by.ganevich.entity;
 
+import by.ganevich.money.Money;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,27 +11,34 @@ import java.util.Set;
 @Getter
 @Setter
 @Table(name = "bankAccounts")
-@NamedEntityGraph(
-        name = "bankAccounts-entity-graph",
-        attributeNodes = {
-                @NamedAttributeNode("owner"),
-                @NamedAttributeNode(value = "bankProducer", subgraph = "banks-sub-graph"),
-                @NamedAttributeNode("sentTransactions"),
-                @NamedAttributeNode("receivedTransactions")
-        },
-        subgraphs = {
-                @NamedSubgraph(
-                        name = "banks-sub-graph",
-                        attributeNodes = {
-                                @NamedAttributeNode("commissions")
-                        }
-                )
-        }
-
-)
+@NamedEntityGraphs({
+        @NamedEntityGraph(
+                name = "bankAccounts-listing-graph",
+                attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode(value = "bankProducer", subgraph = "banks-sub-graph")
+                },
+                subgraphs = {
+                        @NamedSubgraph(
+                                name = "banks-sub-graph",
+                                attributeNodes = {
+                                        @NamedAttributeNode("commissions")
+                                }
+                        )
+                }
+        ),
+        @NamedEntityGraph(
+                name = "bankAccounts-transfer-graph",
+                attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode("bankProducer")
+                }
+        )
+})
 public class BankAccount {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bankAccounts-id-generator")
+    @SequenceGenerator(name = "bankAccounts-id-generator", sequenceName = "bankaccounts_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "number")
@@ -40,7 +48,11 @@ public class BankAccount {
     private Currency currency;
 
     @Column(name = "amountOfMoney")
-    private Double amountOfMoney;
+    private long amountOfMoney;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 
     @ManyToOne(
             cascade = CascadeType.DETACH,
@@ -74,7 +86,7 @@ public class BankAccount {
     public String toString() {
         return "BankAccount{"
                 + "currency=" + currency
-                + ", amountOfMoney=" + amountOfMoney
+                + ", amountOfMoney=" + Money.format(amountOfMoney)
                 + ", bankProducer=" + bankProducer
                 + '}';
     }
@@ -26,7 +26,8 @@ import java.util.Set;
 )
 public class Client {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients-id-generator")
+    @SequenceGenerator(name = "clients-id-generator", sequenceName = "clients_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name")
@@ -1,18 +1,24 @@
 package by.ganevich.entity;
 
+import by.ganevich.money.Money;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @Table(name = "commissionForClients")
 public class Commission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "commissionForClients-id-generator")
+    @SequenceGenerator(name = "commissionForClients-id-generator", sequenceName = "commissionforclients_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(
@@ -26,13 +32,13 @@ public class Commission {
     private Integer clientType;
 
     @Column(name = "commission")
-    private Double commission;
+    private long commission;
 
     @Override
     public String toString() {
         return "Commission{"
                 + ", clientType=" + clientType
-                + ", commission=" + commission
+                + ", commission=" + Money.formatRatio(commission)
                 + '}';
     }
 }
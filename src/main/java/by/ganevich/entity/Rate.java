@@ -2,10 +2,14 @@ package by.ganevich.entity;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @Table(name = "exchangeRates")
@@ -19,5 +23,5 @@ public class Rate {
     private Integer currency;
 
     @Column(name = "rate")
-    private Double rate;
+    private long rate;
 }
@@ -1,5 +1,6 @@
 package by.ganevich.entity;
 
+import by.ganevich.money.Money;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,7 +21,8 @@ import java.sql.Date;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions-id-generator")
+    @SequenceGenerator(name = "transactions-id-generator", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(
@@ -52,7 +54,7 @@ public class Transaction {
     private BankAccount receiverAccount;
 
     @Column(name = "amountOfMoney")
-    private Double amountOfMoney;
+    private long amountOfMoney;
 
     @Column(name = "date")
     private Date date;
@@ -63,7 +65,7 @@ public class Transaction {
                 + "id=" + id
                 + ", sender=" + sender
                 + ", receiver=" + receiver
-                + ", amountOfMoney=" + amountOfMoney
+                + ", amountOfMoney=" + Money.format(amountOfMoney)
                 + ", date=" + date
                 + '}';
     }
@@ -0,0 +1,57 @@
+package by.ganevich.io.commands;
+
+import by.ganevich.io.CommandDescriptor;
+import by.ganevich.io.CommandResult;
+import by.ganevich.job.Job;
+import by.ganevich.job.JobScheduler;
+import by.ganevich.mapper.interfaces.JobMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import java.util.Map;
+
+@Component
+@Getter
+@Slf4j
+@RequiredArgsConstructor
+public class CancelJobCommand extends BaseCommand {
+
+    private final String commandName = "cancelJob";
+
+    private final JobScheduler jobScheduler;
+    private final JobMapper jobMapper;
+
+    @NotNull
+    @Pattern(regexp = "\\d+", message = "Job id must be a number")
+    private String id;
+
+    @Override
+    public String getDescriptionValue() {
+        String description = "cancelJob id=?";
+        return description;
+    }
+
+    @Override
+    public CommandResult doExecute(Map<String, String> parameters) {
+
+        log.info("Cancel job command is called");
+
+        CommandResult commandResult = new CommandResult();
+        Job job = jobScheduler.cancel(Long.parseLong(id));
+        commandResult.setResult(job == null ? "Job " + id + " is not found" : jobMapper.toDto(job));
+
+        log.info("Cancel job command is complete");
+
+        return commandResult;
+    }
+
+    @Override
+    public ICommand setDto(CommandDescriptor commandDescriptor) {
+        this.id = commandDescriptor.getParameters().get("id");
+        return this;
+    }
+}
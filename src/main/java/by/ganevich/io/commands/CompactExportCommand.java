@@ -0,0 +1,56 @@
+package by.ganevich.io.commands;
+
+import by.ganevich.csv.exportCsv.DeltaCompactor;
+import by.ganevich.csv.exportCsv.DeltaCsvExporter;
+import by.ganevich.io.CommandDescriptor;
+import by.ganevich.io.CommandResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Getter
+@Slf4j
+@RequiredArgsConstructor
+public class CompactExportCommand extends BaseCommand {
+
+    private final String commandName = "compactExport";
+
+    private final DeltaCompactor deltaCompactor;
+
+    @Autowired
+    private List<DeltaCsvExporter> exporters;
+
+    @Override
+    public String getDescriptionValue() {
+        String description = "compactExport";
+        return description;
+    }
+
+    @Override
+    public CommandResult doExecute(Map<String, String> parameters) throws IOException {
+
+        log.info("Compact export command is called");
+
+        List<Path> compacted = deltaCompactor.compact(exporters);
+
+        CommandResult commandResult = new CommandResult();
+        commandResult.setResult("Compaction is complete! Files: " + compacted);
+
+        log.info("Compact export command is complete");
+
+        return commandResult;
+    }
+
+    @Override
+    public ICommand setDto(CommandDescriptor commandDescriptor) {
+        return this;
+    }
+}
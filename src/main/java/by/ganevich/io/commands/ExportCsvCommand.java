@@ -1,57 +1,48 @@
 package by.ganevich.io.commands;
 
-import by.ganevich.csv.archiver.Archiver;
-import by.ganevich.csv.exportCsv.CsvExporter;
 import by.ganevich.io.CommandDescriptor;
 import by.ganevich.io.CommandResult;
+import by.ganevich.job.ExportImportJobs;
+import by.ganevich.job.Job;
+import by.ganevich.mapper.interfaces.JobMapper;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @Component
 @Getter
 @Slf4j
 @RequiredArgsConstructor
-public class ExportCsvCommand extends BaseCommand{
-    private final String commandName = "exportCsv";
+public class ExportCsvCommand extends BaseCommand {
+    private static final String DELTA_MODE = "delta";
 
-    private final Archiver archiver;
+    private final String commandName = "exportCsv";
 
-    @Autowired
-    private List<CsvExporter> exporters;
+    private final ExportImportJobs exportImportJobs;
+    private final JobMapper jobMapper;
 
     @Override
     public String getDescriptionValue() {
-        String description = "exportCsv";
+        String description = "exportCsv [mode=full|delta]";
         return description;
     }
 
     @Override
-    public CommandResult doExecute(Map<String, String> parameters) throws IOException {
+    public CommandResult doExecute(Map<String, String> parameters) {
 
         log.info("Export csv command is called");
 
-        Set<File> files = new HashSet<>();
-
-        for (CsvExporter exporter : exporters) {
-            files.add(exporter.exportCsv());
-        }
-
-        archiver.pack(files);
+        Job job = DELTA_MODE.equals(parameters.get("mode"))
+                ? exportImportJobs.exportDelta()
+                : exportImportJobs.exportCsv();
 
         CommandResult commandResult = new CommandResult();
-        commandResult.setResult("Export is complete!");
+        commandResult.setResult(jobMapper.toDto(job));
 
-        log.info("Export csv command is complete");
+        log.info("Export csv command is complete, job " + job.getId() + " is " + job.getStatus());
 
         return commandResult;
     }
@@ -31,10 +31,17 @@ public class HelpCommand implements ICommand {
         + "deleteClient: command to delete client \n"
         + "addClientToBank: command to add client to bank and create a new bank account \n\n"
         + "makeTransaction: command to make transaction \n"
-        + "readTransactions: command to read transactions of client \n\n"
+        + "makeBatchTransaction: command to make many transactions at once \n"
+        + "readTransactions: command to read a page of transactions of client, cursor reads the next page \n"
+        + "transferStatus: command to read status of transaction submitted with idempotency key \n\n"
         + "readBankAccounts: command to read all bank accounts of client \n\n"
-        + "exportCsv: export data from db to csv files \n"
-        + "importCsv: import data from csv files to db \n\n"
+        + "exportCsv: start a job to export data from db to csv files, mode=delta exports only new transactions \n"
+        + "compactExport: merge delta exports into one file \n"
+        + "importCsv: start a job to import data from csv files to db \n"
+        + "exportSnapshot: start a job to export transactions to a columnar binary snapshot \n"
+        + "importSnapshot: start a job to restore transactions from a binary snapshot \n"
+        + "jobs: command to read progress of export and import jobs \n"
+        + "cancelJob: command to cancel export or import job \n\n"
         + "exit: command to exit from application";
 
         CommandResult commandResult = new CommandResult();
@@ -1,17 +1,15 @@
 package by.ganevich.io.commands;
 
-import by.ganevich.csv.archiver.Archiver;
-import by.ganevich.csv.importCsv.CsvImporter;
 import by.ganevich.io.CommandDescriptor;
 import by.ganevich.io.CommandResult;
+import by.ganevich.job.ExportImportJobs;
+import by.ganevich.job.Job;
+import by.ganevich.mapper.interfaces.JobMapper;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 
 @Component
@@ -22,37 +20,35 @@ public class ImportCsvCommand extends BaseCommand {
 
     private final String commandName = "importCsv";
 
-    private final Archiver archiver;
-    @Autowired
-    private List<CsvImporter> importers;
+    private final ExportImportJobs exportImportJobs;
+    private final JobMapper jobMapper;
+
+    private String path;
 
     @Override
     public String getDescriptionValue() {
-        String description = "importCsv";
+        String description = "importCsv [path=?]";
         return description;
     }
 
     @Override
-    public CommandResult doExecute(Map<String, String> parameters) throws IOException {
+    public CommandResult doExecute(Map<String, String> parameters) {
 
         log.info("Import csv command is called");
 
-        archiver.unpack();
-
-        for (CsvImporter importer : importers) {
-            importer.importCsv();
-        }
+        Job job = exportImportJobs.importCsv(path);
 
         CommandResult commandResult = new CommandResult();
-        commandResult.setResult("Import is complete!");
+        commandResult.setResult(jobMapper.toDto(job));
 
-        log.info("Export csv command is complete");
+        log.info("Import csv command is complete, job " + job.getId() + " is " + job.getStatus());
 
         return commandResult;
     }
 
     @Override
     public ICommand setDto(CommandDescriptor commandDescriptor) {
+        this.path = commandDescriptor.getParameters().get("path");
         return this;
     }
 }
@@ -0,0 +1,54 @@
+package by.ganevich.io.commands;
+
+import by.ganevich.io.CommandDescriptor;
+import by.ganevich.io.CommandResult;
+import by.ganevich.job.ExportImportJobs;
+import by.ganevich.job.Job;
+import by.ganevich.mapper.interfaces.JobMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Getter
+@Slf4j
+@RequiredArgsConstructor
+public class ImportSnapshotCommand extends BaseCommand {
+
+    private final String commandName = "importSnapshot";
+
+    private final ExportImportJobs exportImportJobs;
+    private final JobMapper jobMapper;
+
+    private String path;
+
+    @Override
+    public String getDescriptionValue() {
+        String description = "importSnapshot [path=?]";
+        return description;
+    }
+
+    @Override
+    public CommandResult doExecute(Map<String, String> parameters) {
+
+        log.info("Import snapshot command is called");
+
+        Job job = exportImportJobs.importSnapshot(path);
+
+        CommandResult commandResult = new CommandResult();
+        commandResult.setResult(jobMapper.toDto(job));
+
+        log.info("Import snapshot command is complete, job " + job.getId() + " is " + job.getStatus());
+
+        return commandResult;
+    }
+
+    @Override
+    public ICommand setDto(CommandDescriptor commandDescriptor) {
+        this.path = commandDescriptor.getParameters().get("path");
+        return this;
+    }
+}
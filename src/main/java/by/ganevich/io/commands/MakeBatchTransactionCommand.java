@@ -0,0 +1,70 @@
+package by.ganevich.io.commands;
+
+import by.ganevich.dto.BatchTransferResultDto;
+import by.ganevich.dto.ConductTransactionDto;
+import by.ganevich.io.CommandDescriptor;
+import by.ganevich.io.CommandResult;
+import by.ganevich.service.BatchTransferService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Getter
+@Slf4j
+@RequiredArgsConstructor
+public class MakeBatchTransactionCommand extends BaseCommand {
+
+    private final String commandName = "makeBatchTransaction";
+
+    private final BatchTransferService batchTransferService;
+
+    private List<ConductTransactionDto> transfers;
+
+    @Override
+    public String getDescriptionValue() {
+        String description = "makeBatchTransaction "
+                + "transfers=senderAccountNumber:receiverAccountNumber:amountOfMoney,...";
+        return description;
+    }
+
+    @Override
+    public CommandResult doExecute(Map<String, String> parameters) {
+
+        log.info("Make batch transaction command is called");
+
+        List<BatchTransferResultDto> results = batchTransferService.sendMoney(transfers);
+
+        CommandResult commandResult = new CommandResult();
+        commandResult.setResult(results);
+
+        log.info("Make batch transaction command is complete");
+
+        return commandResult;
+    }
+
+    @Override
+    public ICommand setDto(CommandDescriptor commandDescriptor) {
+        List<ConductTransactionDto> transfers = new ArrayList<>();
+        String input = commandDescriptor.getParameters().getOrDefault("transfers", "");
+
+        for (String line : input.split(",")) {
+            String[] values = line.split(":");
+            ConductTransactionDto conductTransactionDto = new ConductTransactionDto();
+            if (values.length == 3) {
+                conductTransactionDto.setSenderAccountNumber(values[0]);
+                conductTransactionDto.setReceiverAccountNumber(values[1]);
+                conductTransactionDto.setAmountOfMoney(values[2]);
+            }
+            transfers.add(conductTransactionDto);
+        }
+
+        this.transfers = transfers;
+        return this;
+    }
+}
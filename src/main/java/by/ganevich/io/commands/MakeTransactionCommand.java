@@ -1,8 +1,13 @@
 package by.ganevich.io.commands;
 
 import by.ganevich.dto.ConductTransactionDto;
+import by.ganevich.exception.IdempotencyKeyConflictException;
 import by.ganevich.io.CommandDescriptor;
 import by.ganevich.io.CommandResult;
+import by.ganevich.mapper.interfaces.TransferTicketMapper;
+import by.ganevich.money.Money;
+import by.ganevich.pipeline.TransferPipeline;
+import by.ganevich.pipeline.TransferTicket;
 import by.ganevich.service.TransactionService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +26,8 @@ public class MakeTransactionCommand extends BaseCommand {
     private final String commandName = "makeTransaction";
 
     private final TransactionService transactionService;
+    private final TransferPipeline transferPipeline;
+    private final TransferTicketMapper transferTicketMapper;
 
     @Valid
     private ConductTransactionDto conductTransactionDto;
@@ -28,7 +35,7 @@ public class MakeTransactionCommand extends BaseCommand {
     @Override
     public String getDescriptionValue() {
         String description = "makeTransaction senderAccountNumber=? "
-                + "receiverAccountNumber=? amountOfMoney=?";
+                + "receiverAccountNumber=? amountOfMoney=? [idempotencyKey=?]";
         return description;
     }
 
@@ -41,7 +48,24 @@ public class MakeTransactionCommand extends BaseCommand {
 
         Integer receiverAccountNumber = Integer.parseInt(conductTransactionDto.getReceiverAccountNumber());
 
-        Double sum = Double.valueOf(conductTransactionDto.getAmountOfMoney());
+        long sum = Money.parse(conductTransactionDto.getAmountOfMoney());
+
+        String idempotencyKey = parameters.get("idempotencyKey");
+        if (idempotencyKey != null) {
+            CommandResult commandResult = new CommandResult();
+            try {
+                TransferTicket ticket = transferPipeline
+                        .submit(idempotencyKey, senderAccountNumber, receiverAccountNumber, sum);
+                commandResult.setResult(transferTicketMapper.toDto(ticket));
+            } catch (IdempotencyKeyConflictException e) {
+                commandResult.setResult(e.getMessage());
+                return commandResult;
+            }
+
+            log.info("Make transaction command submitted transaction " + idempotencyKey);
+
+            return commandResult;
+        }
 
         transactionService.sendMoney(senderAccountNumber, receiverAccountNumber, sum);
 
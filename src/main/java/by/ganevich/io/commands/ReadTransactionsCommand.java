@@ -2,11 +2,11 @@ package by.ganevich.io.commands;
 
 import by.ganevich.dto.ClientDto;
 import by.ganevich.dto.TransactionToViewDto;
-import by.ganevich.entity.Client;
-import by.ganevich.entity.Transaction;
 import by.ganevich.io.CommandDescriptor;
 import by.ganevich.io.CommandResult;
 import by.ganevich.mapper.interfaces.ClientMapper;
+import by.ganevich.mapper.interfaces.TransactionMapper;
+import by.ganevich.pagination.TransactionPage;
 import by.ganevich.service.ClientService;
 import by.ganevich.service.TransactionService;
 import lombok.Getter;
@@ -16,9 +16,7 @@ import org.springframework.stereotype.Component;
 
 import javax.validation.Valid;
 import java.sql.Date;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 @Component
 @Getter
@@ -32,14 +30,15 @@ public class ReadTransactionsCommand extends BaseCommand {
     private final ClientService clientService;
 
     private final ClientMapper clientMapper;
+    private final TransactionMapper transactionMapper;
 
     @Valid
     private TransactionToViewDto transactionToViewDto;
 
     @Override
     public String getDescriptionValue() {
-        String description = "readTransactions type=sent/received clientName=? "
-                + "dateBefore=YYYY-MM-DD dateAfter=YYYY-MM-DD";
+        String description = "readTransactions type=sent/received/all clientName=? "
+                + "dateBefore=YYYY-MM-DD dateAfter=YYYY-MM-DD [cursor=?]";
         return description;
     }
 
@@ -49,23 +48,29 @@ public class ReadTransactionsCommand extends BaseCommand {
         log.info("Read transactions command is called");
 
         CommandResult commandResult = new CommandResult();
-        Set<Transaction> transactions = new HashSet<>();
 
-        Client client = clientMapper.toEntity(transactionToViewDto.getClient());
+        Long clientId = transactionToViewDto.getClient().getId();
         Date dateBefore = Date.valueOf(transactionToViewDto.getDateBefore());
         Date dateAfter = Date.valueOf(transactionToViewDto.getDateAfter());
-
-        if (transactionToViewDto.getType().equals("sent")) {
-            transactions =
-                    transactionService.readAllByDateAndSender(dateBefore, dateAfter, client);
-        } else if (transactionToViewDto.getType().equals("received")) {
-            transactions =
-                    transactionService.readAllByDateAndReceiver(dateBefore, dateAfter, client);
+        String cursor = transactionToViewDto.getCursor();
+
+        TransactionPage page;
+        try {
+            if (transactionToViewDto.getType().equals("sent")) {
+                page = transactionService.readPageBySender(dateBefore, dateAfter, clientId, cursor);
+            } else if (transactionToViewDto.getType().equals("received")) {
+                page = transactionService.readPageByReceiver(dateBefore, dateAfter, clientId, cursor);
+            } else {
+                page = transactionService.readHistoryPage(dateBefore, dateAfter, clientId, cursor);
+            }
+        } catch (IllegalArgumentException e) {
+            commandResult.setResult(e.getMessage());
+            return commandResult;
         }
 
         log.info("Read transactions command is complete");
 
-        commandResult.setResult(transactions);
+        commandResult.setResult(transactionMapper.toPageDto(page));
         return commandResult;
     }
 
@@ -79,6 +84,7 @@ public class ReadTransactionsCommand extends BaseCommand {
         transactionToViewDto.setType(commandDescriptor.getParameters().get("type"));
         transactionToViewDto.setDateBefore(commandDescriptor.getParameters().get("dateBefore"));
         transactionToViewDto.setDateAfter(commandDescriptor.getParameters().get("dateAfter"));
+        transactionToViewDto.setCursor(commandDescriptor.getParameters().get("cursor"));
 
         this.transactionToViewDto = transactionToViewDto;
         return this;
@@ -0,0 +1,57 @@
+package by.ganevich.io.commands;
+
+import by.ganevich.io.CommandDescriptor;
+import by.ganevich.io.CommandResult;
+import by.ganevich.mapper.interfaces.TransferTicketMapper;
+import by.ganevich.pipeline.TransferPipeline;
+import by.ganevich.pipeline.TransferTicket;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Getter
+@Slf4j
+@RequiredArgsConstructor
+public class TransferStatusCommand extends BaseCommand {
+
+    private final String commandName = "transferStatus";
+
+    private final TransferPipeline transferPipeline;
+    private final TransferTicketMapper transferTicketMapper;
+
+    private String idempotencyKey;
+
+    @Override
+    public String getDescriptionValue() {
+        String description = "transferStatus idempotencyKey=?";
+        return description;
+    }
+
+    @Override
+    public CommandResult doExecute(Map<String, String> parameters) {
+
+        log.info("Transfer status command is called");
+
+        CommandResult commandResult = new CommandResult();
+        TransferTicket ticket = transferPipeline.findTicket(idempotencyKey);
+        if (ticket == null) {
+            commandResult.setResult("Transaction with key " + idempotencyKey + " is not found");
+        } else {
+            commandResult.setResult(transferTicketMapper.toDto(ticket));
+        }
+
+        log.info("Transfer status command is complete");
+
+        return commandResult;
+    }
+
+    @Override
+    public ICommand setDto(CommandDescriptor commandDescriptor) {
+        this.idempotencyKey = commandDescriptor.getParameters().get("idempotencyKey");
+        return this;
+    }
+}
@@ -24,7 +24,9 @@ public class CommandFactory {
     private final AddClientToBankCommand addClientToBankCommand;
 
     private final MakeTransactionCommand makeTransactionCommand;
+    private final MakeBatchTransactionCommand makeBatchTransactionCommand;
     private final ReadTransactionsCommand readTransactionsCommand;
+    private final TransferStatusCommand transferStatusCommand;
 
     private final ReadBankAccountsCommand readBankAccountsCommand;
 
@@ -33,6 +35,11 @@ public class CommandFactory {
 
     private final ImportCsvCommand importCsvCommand;
     private final ExportCsvCommand exportCsvCommand;
+    private final CompactExportCommand compactExportCommand;
+    private final ExportSnapshotCommand exportSnapshotCommand;
+    private final ImportSnapshotCommand importSnapshotCommand;
+    private final JobsCommand jobsCommand;
+    private final CancelJobCommand cancelJobCommand;
 
     private Map<String, ICommand> commands;
 
@@ -48,12 +55,19 @@ public class CommandFactory {
         commands.put(deleteClientCommand.getCommandName(), deleteClientCommand);
         commands.put(addClientToBankCommand.getCommandName(), addClientToBankCommand);
         commands.put(makeTransactionCommand.getCommandName(), makeTransactionCommand);
+        commands.put(makeBatchTransactionCommand.getCommandName(), makeBatchTransactionCommand);
         commands.put(readTransactionsCommand.getCommandName(), readTransactionsCommand);
+        commands.put(transferStatusCommand.getCommandName(), transferStatusCommand);
         commands.put(readBankAccountsCommand.getCommandName(), readBankAccountsCommand);
         commands.put(helpCommand.getCommandName(), helpCommand);
         commands.put(exitCommand.getCommandName(), exitCommand);
         commands.put(importCsvCommand.getCommandName(), importCsvCommand);
         commands.put(exportCsvCommand.getCommandName(), exportCsvCommand);
+        commands.put(compactExportCommand.getCommandName(), compactExportCommand);
+        commands.put(exportSnapshotCommand.getCommandName(), exportSnapshotCommand);
+        commands.put(importSnapshotCommand.getCommandName(), importSnapshotCommand);
+        commands.put(jobsCommand.getCommandName(), jobsCommand);
+        commands.put(cancelJobCommand.getCommandName(), cancelJobCommand);
         return commands;
     }
 
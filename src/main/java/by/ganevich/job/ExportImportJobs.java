@@ -0,0 +1,92 @@
+package by.ganevich.job;
+
+import by.ganevich.csv.archiver.Archiver;
+import by.ganevich.csv.exportCsv.CsvExporter;
+import by.ganevich.csv.exportCsv.DeltaCsvExporter;
+import by.ganevich.csv.exportCsv.DeltaExporter;
+import by.ganevich.csv.importCsv.CsvImporter;
+import by.ganevich.csv.importCsv.ReferenceResolver;
+import by.ganevich.csv.snapshot.TransactionSnapshotExporter;
+import by.ganevich.csv.snapshot.TransactionSnapshotImporter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Submits the export and import operations as jobs, for both the console
+ * commands and the REST layer. A {@code null} path means the configured default.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportImportJobs {
+
+    private final JobScheduler jobScheduler;
+    private final Archiver archiver;
+    private final DeltaExporter deltaExporter;
+    private final TransactionSnapshotExporter transactionSnapshotExporter;
+    private final TransactionSnapshotImporter transactionSnapshotImporter;
+    private final ReferenceResolver referenceResolver;
+
+    @Autowired
+    private List<CsvExporter> exporters;
+
+    @Autowired
+    private List<DeltaCsvExporter> deltaCsvExporters;
+
+    @Autowired
+    private List<CsvImporter> importers;
+
+    @Value("${import.zip.path:src/main/resources/csv/import.zip}")
+    private String defaultArchive;
+
+    @Value("${snapshot.path:export/transactions.snapshot}")
+    private String defaultSnapshot;
+
+    public Job exportCsv() {
+        return jobScheduler.submit(JobType.EXPORT_CSV, "Export of all tables to a zip archive",
+                progress -> "Archive: " + archiver.pack(exporters, progress));
+    }
+
+    public Job exportDelta() {
+        return jobScheduler.submit(JobType.EXPORT_DELTA, "Export of new transactions to delta files",
+                progress -> "Files: " + deltaExporter.export(deltaCsvExporters, progress));
+    }
+
+    public Job importCsv(String path) {
+        Path archive = Paths.get(path == null ? defaultArchive : path);
+        return jobScheduler.submit(JobType.IMPORT_CSV, "Import of " + archive, progress -> {
+            referenceResolver.startRun();
+            Map<String, CsvImporter> importersByFile = new LinkedHashMap<>();
+            for (CsvImporter importer : importers) {
+                importersByFile.put(importer.getFileName(), importer);
+            }
+            archiver.unpack(archive, new ArrayList<>(importersByFile.keySet()), progress,
+                    (entry, in) -> importersByFile.get(entry.getName()).importCsv(in,
+                            archive.toAbsolutePath() + "!" + entry.getName() + "@" + entry.getCrc(), progress));
+            return progress.getRows() + " rows are imported from " + archive;
+        });
+    }
+
+    public Job exportSnapshot(String path) {
+        Path target = Paths.get(path == null ? defaultSnapshot : path);
+        return jobScheduler.submit(JobType.EXPORT_SNAPSHOT, "Export of transactions to " + target,
+                progress -> transactionSnapshotExporter.export(target, progress) + " transactions in " + target);
+    }
+
+    public Job importSnapshot(String path) {
+        Path source = Paths.get(path == null ? defaultSnapshot : path);
+        return jobScheduler.submit(JobType.IMPORT_SNAPSHOT, "Import of transactions from " + source,
+                progress -> {
+                    referenceResolver.startRun();
+                    return transactionSnapshotImporter.importSnapshot(source, progress) + " transactions from " + source;
+                });
+    }
+}
@@ -0,0 +1,99 @@
+package by.ganevich.job;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class Job {
+
+    private final long id;
+    private final JobType type;
+    private final String description;
+    private final long submittedAt;
+    private final JobProgress progress;
+
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String message;
+
+    Job(long id, JobType type, String description) {
+        this.id = id;
+        this.type = type;
+        this.description = description;
+        this.submittedAt = System.currentTimeMillis();
+        this.progress = new JobProgress(type.getUnit());
+    }
+
+    public long getRowsProcessed() {
+        return progress.getRows();
+    }
+
+    public long getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : progress.getRows() * 1000 / elapsed;
+    }
+
+    /**
+     * Percent of the expected work that is done, or {@code null} while the
+     * amount of work is not known.
+     */
+    public Integer getPercent() {
+        long total = progress.getTotal();
+        if (total == 0) {
+            return null;
+        }
+        return (int) Math.min(100, progress.getDone() * 100 / total);
+    }
+
+    /**
+     * Seconds left at the rate the job has had so far, or {@code null} if it
+     * can not be estimated yet.
+     */
+    public Long getEtaSeconds() {
+        long total = progress.getTotal();
+        long done = progress.getDone();
+        long elapsed = getElapsedMillis();
+        if (status != JobStatus.RUNNING || total == 0 || done == 0 || elapsed == 0) {
+            return null;
+        }
+        return TimeUnit.MILLISECONDS.toSeconds(Math.max(0, total - done) * elapsed / done);
+    }
+
+    private long getElapsedMillis() {
+        if (startedAt == 0) {
+            return 0;
+        }
+        return (finishedAt == 0 ? System.currentTimeMillis() : finishedAt) - startedAt;
+    }
+
+    synchronized boolean start() {
+        if (status != JobStatus.QUEUED) {
+            return false;
+        }
+        startedAt = System.currentTimeMillis();
+        status = JobStatus.RUNNING;
+        return true;
+    }
+
+    synchronized boolean cancel() {
+        if (status == JobStatus.QUEUED) {
+            progress.cancel();
+            finish(JobStatus.CANCELLED, "Job is cancelled before start");
+            return true;
+        }
+        if (status == JobStatus.RUNNING) {
+            progress.cancel();
+            status = JobStatus.CANCELLING;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void finish(JobStatus status, String message) {
+        this.finishedAt = System.currentTimeMillis();
+        this.message = message;
+        this.status = status;
+    }
+}
@@ -0,0 +1,74 @@
+package by.ganevich.job;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a running job, updated from any number of worker threads.
+ * Work is counted in the unit of the job type: rows for exports, bytes of the
+ * archive for csv imports whose row count is not known up front. Updating a
+ * cancelled progress throws {@link CancellationException}, which is how a
+ * running job stops at its next row or chunk.
+ */
+public class JobProgress {
+
+    public enum Unit {
+        ROWS,
+        BYTES
+    }
+
+    private final Unit unit;
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong done = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private volatile boolean cancelled;
+
+    public JobProgress(Unit unit) {
+        this.unit = unit;
+    }
+
+    public void expect(long units) {
+        total.addAndGet(units);
+    }
+
+    public void advance(long processedRows) {
+        rows.addAndGet(processedRows);
+        if (unit == Unit.ROWS) {
+            done.addAndGet(processedRows);
+        }
+        checkCancelled();
+    }
+
+    public void transferred(long bytes) {
+        if (unit == Unit.BYTES) {
+            done.addAndGet(bytes);
+        }
+        checkCancelled();
+    }
+
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Job is cancelled");
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getDone() {
+        return done.get();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+}
@@ -0,0 +1,150 @@
+package by.ganevich.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs export and import jobs on a bounded pool so they do not block the
+ * console or a web request. Jobs wait in a bounded queue; a job submitted to a
+ * full queue is rejected. Jobs of one type share their output and checkpoint
+ * files, so a job is also rejected while one of its type is queued or running.
+ * Finished jobs are kept for {@code job.history} jobs.
+ */
+@Component
+@Slf4j
+public class JobScheduler {
+
+    @Value("${job.threads:2}")
+    private int threads;
+
+    @Value("${job.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${job.history:100}")
+    private int history;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, Job> jobs = new LinkedHashMap<Long, Job>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Job> eldest) {
+            return size() > history && eldest.getValue().getStatus().isFinal();
+        }
+    };
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadFactory() {
+            private final AtomicInteger index = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "job-worker-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (jobs) {
+            jobs.values().forEach(Job::cancel);
+        }
+        executor.shutdown();
+    }
+
+    public Job submit(JobType type, String description, JobTask task) {
+        Job job = new Job(ids.incrementAndGet(), type, description);
+        Job active;
+        synchronized (jobs) {
+            active = findActive(type);
+            jobs.put(job.getId(), job);
+        }
+        if (active != null) {
+            job.finish(JobStatus.REJECTED, "Job " + active.getId() + " of the same type is "
+                    + active.getStatus().name().toLowerCase() + ", try again later");
+            log.info("Job " + job.getId() + " " + type + " is rejected, job " + active.getId() + " is not finished");
+            return job;
+        }
+        try {
+            executor.execute(() -> run(job, task));
+            log.info("Job " + job.getId() + " " + type + " is queued");
+        } catch (RejectedExecutionException e) {
+            job.finish(JobStatus.REJECTED, "Job queue is full, try again later");
+            log.info("Job " + job.getId() + " " + type + " is rejected, the queue is full");
+        }
+        return job;
+    }
+
+    public Job find(long id) {
+        synchronized (jobs) {
+            return jobs.get(id);
+        }
+    }
+
+    public List<Job> findAll() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * Cancels a queued job at once; a running job stops at its next progress
+     * update, after the chunk it is working on.
+     */
+    public Job cancel(long id) {
+        Job job = find(id);
+        if (job != null && job.cancel()) {
+            log.info("Job " + id + " is cancelled");
+        }
+        return job;
+    }
+
+    private Job findActive(JobType type) {
+        for (Job job : jobs.values()) {
+            if (job.getType() == type && !job.getStatus().isFinal()) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private void run(Job job, JobTask task) {
+        if (!job.start()) {
+            return;
+        }
+        log.info("Job " + job.getId() + " " + job.getType() + " is started");
+        try {
+            String result = task.run(job.getProgress());
+            job.finish(JobStatus.COMPLETED, result);
+            log.info("Job " + job.getId() + " is complete: " + result);
+        } catch (Exception e) {
+            if (job.getProgress().isCancelled() || e instanceof CancellationException) {
+                job.finish(JobStatus.CANCELLED, "Job is cancelled after " + job.getRowsProcessed() + " rows");
+                log.info("Job " + job.getId() + " is cancelled");
+            } else {
+                job.finish(JobStatus.FAILED, e.getMessage());
+                log.error("Job " + job.getId() + " failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package by.ganevich.job;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    CANCELLING,
+    COMPLETED,
+    CANCELLED,
+    REJECTED,
+    FAILED;
+
+    public boolean isFinal() {
+        return this == COMPLETED || this == CANCELLED || this == REJECTED || this == FAILED;
+    }
+}
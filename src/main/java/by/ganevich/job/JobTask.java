@@ -0,0 +1,10 @@
+package by.ganevich.job;
+
+@FunctionalInterface
+public interface JobTask {
+
+    /**
+     * Runs the job and returns the message shown as its result.
+     */
+    String run(JobProgress progress) throws Exception;
+}
@@ -0,0 +1,19 @@
+package by.ganevich.job;
+
+public enum JobType {
+    EXPORT_CSV(JobProgress.Unit.ROWS),
+    EXPORT_DELTA(JobProgress.Unit.ROWS),
+    IMPORT_CSV(JobProgress.Unit.BYTES),
+    EXPORT_SNAPSHOT(JobProgress.Unit.ROWS),
+    IMPORT_SNAPSHOT(JobProgress.Unit.ROWS);
+
+    private final JobProgress.Unit unit;
+
+    JobType(JobProgress.Unit unit) {
+        this.unit = unit;
+    }
+
+    public JobProgress.Unit getUnit() {
+        return unit;
+    }
+}
@@ -0,0 +1,100 @@
+package by.ganevich.journal;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped file of fixed-width transfer records. Record {@code i}
+ * of the segment holds sequence {@code firstSequence + i}.
+ */
+@Getter
+public class JournalSegment {
+
+    public static final int RECORD_SIZE = 36;
+
+    private static final int CHECKSUM_OFFSET = 32;
+
+    private final Path path;
+    private final long firstSequence;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+
+    public JournalSegment(Path path, long firstSequence, int capacity) throws IOException {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.capacity = capacity;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        }
+    }
+
+    public long getLastSequence() {
+        return firstSequence + capacity - 1;
+    }
+
+    public void write(JournaledTransfer transfer) {
+        int offset = offsetOf(transfer.getSequence());
+        buffer.putLong(offset, transfer.getSequence());
+        buffer.putInt(offset + 8, transfer.getSenderAccountNumber());
+        buffer.putInt(offset + 12, transfer.getReceiverAccountNumber());
+        buffer.putLong(offset + 16, transfer.getAmountOfMoney());
+        buffer.putLong(offset + 24, transfer.getDate());
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(offset));
+    }
+
+    public JournaledTransfer read(long sequence) {
+        int offset = offsetOf(sequence);
+        if (buffer.getLong(offset) != sequence || buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(offset)) {
+            return null;
+        }
+        return new JournaledTransfer(
+                sequence,
+                buffer.getInt(offset + 8),
+                buffer.getInt(offset + 12),
+                buffer.getLong(offset + 16),
+                buffer.getLong(offset + 24)
+        );
+    }
+
+    public long findLastWrittenSequence() {
+        long last = firstSequence - 1;
+        for (long sequence = firstSequence; sequence <= getLastSequence(); sequence++) {
+            if (read(sequence) == null) {
+                break;
+            }
+            last = sequence;
+        }
+        return last;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private int offsetOf(long sequence) {
+        long index = sequence - firstSequence;
+        if (index < 0 || index >= capacity) {
+            throw new IllegalArgumentException("Sequence " + sequence + " is outside of the journal segment "
+                    + firstSequence + ".." + getLastSequence());
+        }
+        return Math.toIntExact(index * RECORD_SIZE);
+    }
+
+    private int checksum(int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,16 @@
+package by.ganevich.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class JournaledTransfer {
+
+    private final long sequence;
+    private final int senderAccountNumber;
+    private final int receiverAccountNumber;
+    private final long amountOfMoney;
+    private final long date;
+
+}
@@ -0,0 +1,348 @@
+package by.ganevich.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of transfers in memory-mapped, rotated segment files.
+ * A transfer is acknowledged as soon as its record is forced to disk; callers
+ * that append while a force is running share the next one (group commit).
+ * A background applier drains durable records in batches, waits until the
+ * batch is stored in the database and only then saves the last applied sequence
+ * in a separate file, so the un-applied tail is replayed on startup. A crash
+ * between storing a batch and saving the applied sequence replays that batch
+ * again. Records that can never be applied are appended to a dead-letter file.
+ */
+@Component
+@Slf4j
+public class TransferJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String APPLIED_FILE = "applied.offset";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final int APPLY_BATCH = 1024;
+
+    @Value("${transfer.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transfer.journal.directory:journal}")
+    private String directory;
+
+    @Value("${transfer.journal.segment-records:1048576}")
+    private int segmentRecords;
+
+    @Value("${transfer.journal.group-commit-ms:1}")
+    private long groupCommitMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+
+    private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+    private JournalSegment current;
+    private MappedByteBuffer appliedOffset;
+    private FileChannel deadLetters;
+
+    private long lastAppended;
+    private long durableSequence;
+    private long appliedSequence;
+    private volatile boolean running;
+
+    private Thread flusher;
+    private Thread applier;
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void start(Applier transferApplier) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Transfer journal can not be opened", e);
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "transfer-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        applier = new Thread(() -> applyLoop(transferApplier), "transfer-journal-applier");
+        applier.setDaemon(true);
+        applier.start();
+        log.info("Transfer journal is started, " + (durableSequence - appliedSequence)
+                + " transfers are waiting to be applied.");
+    }
+
+    public long append(int senderAccountNumber, int receiverAccountNumber, long amountOfMoney) {
+        lock.lock();
+        try {
+            long sequence = lastAppended + 1;
+            if (sequence > current.getLastSequence()) {
+                rotate(sequence);
+            }
+            current.write(new JournaledTransfer(sequence, senderAccountNumber, receiverAccountNumber,
+                    amountOfMoney, System.currentTimeMillis()));
+            lastAppended = sequence;
+            appended.signal();
+            while (durableSequence < sequence) {
+                durable.awaitUninterruptibly();
+            }
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        applier.interrupt();
+        flusher.join();
+        applier.join();
+        try {
+            deadLetters.close();
+        } catch (IOException e) {
+            log.warn("Dead-letter file of transfer journal can not be closed: " + e.getMessage());
+        }
+        log.info("Transfer journal is stopped at applied sequence " + appliedSequence);
+    }
+
+    private void recover() throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+
+        try (FileChannel channel = FileChannel.open(dir.resolve(APPLIED_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            appliedOffset = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        }
+        appliedSequence = appliedOffset.getLong(0);
+        deadLetters = FileChannel.open(dir.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long firstSequence = Long.parseLong(
+                        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(firstSequence, new JournalSegment(file, firstSequence, segmentRecords));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            lastAppended = appliedSequence;
+            current = createSegment(appliedSequence + 1);
+        } else {
+            current = segments.lastEntry().getValue();
+            lastAppended = current.findLastWrittenSequence();
+        }
+        durableSequence = lastAppended;
+        deleteAppliedSegments();
+    }
+
+    private void rotate(long firstSequence) {
+        current.force();
+        try {
+            current = createSegment(firstSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Transfer journal segment can not be created", e);
+        }
+        log.info("Transfer journal is rotated to segment " + current.getPath());
+    }
+
+    private JournalSegment createSegment(long firstSequence) throws IOException {
+        Path path = Paths.get(directory, String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        JournalSegment segment = new JournalSegment(path, firstSequence, segmentRecords);
+        segments.put(firstSequence, segment);
+        return segment;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                lock.lock();
+                try {
+                    while (lastAppended == durableSequence) {
+                        appended.await();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                TimeUnit.MILLISECONDS.sleep(groupCommitMs);
+
+                long target;
+                JournalSegment segment;
+                lock.lock();
+                try {
+                    target = lastAppended;
+                    segment = current;
+                } finally {
+                    lock.unlock();
+                }
+
+                segment.force();
+
+                lock.lock();
+                try {
+                    durableSequence = target;
+                    durable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void applyLoop(Applier transferApplier) {
+        while (running) {
+            try {
+                long upTo;
+                lock.lock();
+                try {
+                    while (appliedSequence >= durableSequence) {
+                        durable.await();
+                    }
+                    upTo = Math.min(durableSequence, appliedSequence + APPLY_BATCH);
+                } finally {
+                    lock.unlock();
+                }
+
+                for (long sequence = appliedSequence + 1; sequence <= upTo; sequence++) {
+                    apply(transferApplier, sequence);
+                }
+                sync(transferApplier);
+                appliedSequence = upTo;
+                appliedOffset.putLong(0, upTo);
+                appliedOffset.force();
+                deleteAppliedSegments();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void apply(Applier transferApplier, long sequence) throws InterruptedException {
+        JournaledTransfer transfer = segmentOf(sequence).read(sequence);
+        if (transfer == null) {
+            deadLetter(sequence + ";;;;;corrupted record");
+            return;
+        }
+        while (true) {
+            try {
+                transferApplier.apply(transfer);
+                return;
+            } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+                log.warn("Journaled transfer " + sequence + " can not be applied now, retrying: " + e.getMessage());
+                TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS);
+            } catch (RuntimeException e) {
+                deadLetter(sequence + ";" + transfer.getSenderAccountNumber() + ";" + transfer.getReceiverAccountNumber()
+                        + ";" + transfer.getAmountOfMoney() + ";" + transfer.getDate() + ";" + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void sync(Applier transferApplier) throws InterruptedException {
+        while (true) {
+            try {
+                transferApplier.sync();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Applied journaled transfers can not be stored now, retrying: " + e.getMessage());
+                TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    /**
+     * Appends {@code sequence;sender;receiver;amount;date;reason} to the
+     * dead-letter file and forces it before the record counts as applied.
+     */
+    private void deadLetter(String line) throws InterruptedException {
+        log.error("Journaled transfer is moved to dead letters: " + line);
+        ByteBuffer bytes = ByteBuffer.wrap((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        while (true) {
+            try {
+                while (bytes.hasRemaining()) {
+                    deadLetters.write(bytes);
+                }
+                deadLetters.force(false);
+                return;
+            } catch (IOException e) {
+                log.error("Dead letter can not be written, retrying: " + e.getMessage());
+                TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private JournalSegment segmentOf(long sequence) {
+        lock.lock();
+        try {
+            return segments.floorEntry(sequence).getValue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleteAppliedSegments() {
+        lock.lock();
+        try {
+            while (segments.size() > 1) {
+                Map.Entry<Long, JournalSegment> oldest = segments.firstEntry();
+                if (oldest.getValue() == current || oldest.getValue().getLastSequence() > appliedSequence) {
+                    break;
+                }
+                segments.pollFirstEntry();
+                oldest.getValue().delete();
+            }
+        } catch (IOException e) {
+            log.warn("Applied transfer journal segment can not be deleted: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies journaled transfers. {@link #apply} may only keep a transfer in
+     * memory, {@link #sync} must store everything applied so far.
+     */
+    public interface Applier {
+
+        void apply(JournaledTransfer transfer);
+
+        void sync();
+    }
+}
@@ -3,12 +3,16 @@ package by.ganevich.mapper.interfaces;
 import by.ganevich.dto.BankAccountDto;
 import by.ganevich.entity.BankAccount;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = {ClientMapper.class, BankMapper.class} )
+@Mapper(componentModel = "spring", uses = {ClientMapper.class, BankMapper.class, MoneyMapper.class})
 public interface BankAccountMapper {
+    @Mapping(target = "amountOfMoney", qualifiedByName = "minorUnitsToAmount")
     BankAccountDto toDto(BankAccount bankAccount);
+    @Mapping(target = "amountOfMoney", qualifiedByName = "amountToMinorUnits")
+    @Mapping(target = "version", ignore = true)
     BankAccount toEntity(BankAccountDto bankAccountDto);
     List<BankAccount> toEntityList(List<BankAccountDto> bankAccountsDto);
     List<BankAccountDto> toDtoList(List<BankAccount> bankAccounts);
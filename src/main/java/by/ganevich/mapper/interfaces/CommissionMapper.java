@@ -3,12 +3,15 @@ package by.ganevich.mapper.interfaces;
 import by.ganevich.dto.CommissionDto;
 import by.ganevich.entity.Commission;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface CommissionMapper {
+    @Mapping(target = "commission", qualifiedByName = "ratioToString")
     CommissionDto toDto(Commission commission);
+    @Mapping(target = "commission", qualifiedByName = "stringToRatio")
     Commission toEntity(CommissionDto commissionDto);
     List<Commission> toEntityList(List<CommissionDto> commissionsDto);
     List<CommissionDto> toDtoList(List<Commission> commissions);
@@ -0,0 +1,13 @@
+package by.ganevich.mapper.interfaces;
+
+import by.ganevich.dto.JobDto;
+import by.ganevich.job.Job;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface JobMapper {
+    JobDto toDto(Job job);
+    List<JobDto> toDtoList(List<Job> jobs);
+}
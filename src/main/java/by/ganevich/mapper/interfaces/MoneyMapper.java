@@ -0,0 +1,29 @@
+package by.ganevich.mapper.interfaces;
+
+import by.ganevich.money.Money;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MoneyMapper {
+
+    @Named("minorUnitsToAmount")
+    public String minorUnitsToAmount(long minorUnits) {
+        return Money.format(minorUnits);
+    }
+
+    @Named("amountToMinorUnits")
+    public long amountToMinorUnits(String amount) {
+        return amount == null ? 0 : Money.parse(amount);
+    }
+
+    @Named("ratioToString")
+    public String ratioToString(long ratio) {
+        return Money.formatRatio(ratio);
+    }
+
+    @Named("stringToRatio")
+    public long stringToRatio(String ratio) {
+        return ratio == null ? 0 : Money.parseRatio(ratio);
+    }
+}
@@ -1,15 +1,21 @@
 package by.ganevich.mapper.interfaces;
 
 import by.ganevich.dto.TransactionDto;
+import by.ganevich.dto.TransactionPageDto;
 import by.ganevich.entity.Transaction;
+import by.ganevich.pagination.TransactionPage;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = ClientMapper.class)
+@Mapper(componentModel = "spring", uses = {ClientMapper.class, MoneyMapper.class})
 public interface TransactionMapper {
+    @Mapping(target = "amountOfMoney", qualifiedByName = "minorUnitsToAmount")
     TransactionDto toDto(Transaction transaction);
+    @Mapping(target = "amountOfMoney", qualifiedByName = "amountToMinorUnits")
     Transaction toEntity(TransactionDto transactionDto);
     List<Transaction> toEntityList(List<TransactionDto> transactionsDto);
     List<TransactionDto> toDtoList(List<Transaction> transactions);
+    TransactionPageDto toPageDto(TransactionPage transactionPage);
 }
@@ -0,0 +1,12 @@
+package by.ganevich.mapper.interfaces;
+
+import by.ganevich.dto.TransferTicketDto;
+import by.ganevich.pipeline.TransferTicket;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
+public interface TransferTicketMapper {
+    @Mapping(target = "amountOfMoney", qualifiedByName = "minorUnitsToAmount")
+    TransferTicketDto toDto(TransferTicket ticket);
+}
@@ -0,0 +1,133 @@
+package by.ganevich.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic. Amounts are kept as a primitive {@code long}
+ * of minor units (cents), rates and commissions as a {@code long} of
+ * millionths, so no boxing or floating-point drift happens on the hot path.
+ */
+public final class Money {
+
+    public static final int MINOR_UNIT_DIGITS = 2;
+    public static final int RATIO_DIGITS = 6;
+    public static final long RATIO_SCALE = 1_000_000L;
+
+    private static final long MINOR_UNIT_SCALE = 100L;
+
+    private Money() {
+    }
+
+    /**
+     * Parses a decimal amount into minor units. An amount with a non-zero digit
+     * below the minor unit is rejected with an {@link ArithmeticException}
+     * instead of being rounded.
+     */
+    public static long parse(String amount) {
+        return new BigDecimal(amount.trim())
+                .movePointRight(MINOR_UNIT_DIGITS)
+                .setScale(0, RoundingMode.UNNECESSARY)
+                .longValueExact();
+    }
+
+    /**
+     * Parses a plain decimal amount straight from a character range. Amounts
+     * with more than {@link #MINOR_UNIT_DIGITS} fraction digits or in another
+     * notation go through {@link #parse(String)}.
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end && chars[i] == ' ') {
+            i++;
+        }
+        while (end > i && chars[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = i < end && chars[i] == '-';
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            i++;
+        }
+
+        // accumulated negatively, so that Long.MIN_VALUE minor units fit
+        long whole = 0;
+        int digits = 0;
+        for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++, digits++) {
+            whole = Math.subtractExact(Math.multiplyExact(whole, 10), chars[i] - '0');
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < end && chars[i] == '.') {
+            for (i++; i < end && chars[i] >= '0' && chars[i] <= '9'; i++, digits++, fractionDigits++) {
+                fraction = fraction * 10 + (chars[i] - '0');
+            }
+        }
+        if (i != end || digits == 0 || fractionDigits > MINOR_UNIT_DIGITS) {
+            return parse(new String(chars, offset, length));
+        }
+
+        for (; fractionDigits < MINOR_UNIT_DIGITS; fractionDigits++) {
+            fraction *= 10;
+        }
+        long minorUnits = Math.subtractExact(Math.multiplyExact(whole, MINOR_UNIT_SCALE), fraction);
+        return negative ? minorUnits : Math.negateExact(minorUnits);
+    }
+
+    public static String format(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_DIGITS).toPlainString();
+    }
+
+    /**
+     * Writes the same text as {@link #format(long)} into {@code chars} and
+     * returns its length. {@code chars} must hold at least 22 characters.
+     */
+    public static int format(long minorUnits, char[] chars) {
+        if (minorUnits == Long.MIN_VALUE) {
+            String text = format(minorUnits);
+            text.getChars(0, text.length(), chars, 0);
+            return text.length();
+        }
+        long value = Math.abs(minorUnits);
+        int position = chars.length;
+        for (int i = 0; i < MINOR_UNIT_DIGITS; i++) {
+            chars[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        chars[--position] = '.';
+        do {
+            chars[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        if (minorUnits < 0) {
+            chars[--position] = '-';
+        }
+        int length = chars.length - position;
+        System.arraycopy(chars, position, chars, 0, length);
+        return length;
+    }
+
+    public static long parseRatio(String ratio) {
+        return new BigDecimal(ratio.trim())
+                .movePointRight(RATIO_DIGITS)
+                .setScale(0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+
+    public static String formatRatio(long ratio) {
+        return BigDecimal.valueOf(ratio, RATIO_DIGITS).stripTrailingZeros().toPlainString();
+    }
+
+    public static long applyRatio(long minorUnits, long ratio) {
+        return divideRounded(Math.multiplyExact(minorUnits, ratio), RATIO_SCALE);
+    }
+
+    public static long applyRate(long minorUnits, double rate) {
+        return Math.round(minorUnits * rate);
+    }
+
+    private static long divideRounded(long dividend, long divisor) {
+        long half = divisor / 2;
+        return dividend >= 0 ? (dividend + half) / divisor : (dividend - half) / divisor;
+    }
+}
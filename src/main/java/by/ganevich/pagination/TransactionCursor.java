@@ -0,0 +1,60 @@
+package by.ganevich.pagination;
+
+import by.ganevich.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in a transaction history ordered by {@code (date, id)}: the key of
+ * the last row of the previous page. The next page starts right after it, so
+ * a deep page is found by an index seek instead of skipping the rows before it.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final Date date;
+    private final long id;
+
+    /**
+     * The position before every transaction of the day.
+     */
+    public static TransactionCursor startOf(Date date) {
+        return new TransactionCursor(date, 0);
+    }
+
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getDate(), transaction.getId());
+    }
+
+    public String encode() {
+        String key = date.toLocalDate().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String token) {
+        String key;
+        try {
+            key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor " + token + " is malformed", e);
+        }
+        int separator = key.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor " + token + " is malformed");
+        }
+        try {
+            return new TransactionCursor(Date.valueOf(LocalDate.parse(key.substring(0, separator))),
+                    Long.parseLong(key.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor " + token + " is malformed", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package by.ganevich.pipeline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded index of submitted transfers by idempotency key. The oldest keys are
+ * evicted first, so a key is deduplicated for the last {@code capacity} submissions.
+ */
+@Component
+public class IdempotencyIndex {
+
+    private final Map<String, TransferTicket> tickets;
+
+    public IdempotencyIndex(@Value("${transfer.idempotency.capacity:100000}") int capacity) {
+        this.tickets = new LinkedHashMap<String, TransferTicket>(capacity, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TransferTicket> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized TransferTicket putIfAbsent(String key, TransferTicket ticket) {
+        return tickets.putIfAbsent(key, ticket);
+    }
+
+    public synchronized TransferTicket get(String key) {
+        return tickets.get(key);
+    }
+
+    public synchronized void remove(String key, TransferTicket ticket) {
+        tickets.remove(key, ticket);
+    }
+
+    public synchronized int size() {
+        return tickets.size();
+    }
+}
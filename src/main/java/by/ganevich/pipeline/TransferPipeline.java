@@ -0,0 +1,343 @@
+package by.ganevich.pipeline;
+
+import by.ganevich.cache.CurrencyConverter;
+import by.ganevich.engine.AccountLockManager;
+import by.ganevich.engine.AccountSnapshot;
+import by.ganevich.engine.BalanceEngine;
+import by.ganevich.engine.BalanceStore;
+import by.ganevich.exception.AccountNotFoundException;
+import by.ganevich.exception.IdempotencyKeyConflictException;
+import by.ganevich.money.Money;
+import by.ganevich.service.CommissionService;
+import by.ganevich.service.TransferProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous transfer pipeline over a pre-allocated ring of slots. Every stage
+ * runs on its own thread and follows the cursor of the previous one:
+ * validate (load accounts), price (conversion and commission from the reference
+ * cache), persist (debit, credit and transaction row in one database transaction).
+ * Submitters only wait when the ring is full. Idle stages and waiting submitters
+ * block on one condition that is signalled whenever a cursor moves. Transfers
+ * still in the ring are lost on shutdown, their tickets stay in ACCEPTED state.
+ * The pipeline is off unless {@code transfer.pipeline.enabled} is set.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransferPipeline {
+
+    private final BalanceStore balanceStore;
+    private final CurrencyConverter currencyConverter;
+    private final CommissionService commissionService;
+    private final TransferProcessor transferProcessor;
+    private final AccountLockManager accountLockManager;
+    private final BalanceEngine balanceEngine;
+    private final IdempotencyIndex idempotencyIndex;
+
+    @Value("${transfer.pipeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transfer.pipeline.capacity:1024}")
+    private int capacity;
+
+    @Value("${transfer.pipeline.submit-timeout-ms:1000}")
+    private long submitTimeoutMs;
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final ReentrantLock cursorLock = new ReentrantLock();
+    private final Condition cursorMoved = cursorLock.newCondition();
+    private final AtomicLong published = new AtomicLong(-1);
+    private final AtomicLong validated = new AtomicLong(-1);
+    private final AtomicLong priced = new AtomicLong(-1);
+    private final AtomicLong persisted = new AtomicLong(-1);
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private TransferSlot[] ring;
+    private int mask;
+    private final List<Thread> stages = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        ring = new TransferSlot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new TransferSlot();
+        }
+        mask = size - 1;
+
+        running = true;
+        startStage("transfer-pipeline-validate", published, validated, this::validate);
+        startStage("transfer-pipeline-price", validated, priced, this::price);
+        startStage("transfer-pipeline-persist", priced, persisted, this::persist);
+        log.info("Transfer pipeline is started with " + size + " slots.");
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        signalCursorMoved();
+        for (Thread stage : stages) {
+            stage.join();
+        }
+        log.info("Transfer pipeline is stopped, " + (published.get() - persisted.get())
+                + " transfers were not processed.");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Submits the transfer, a repeated key returns the ticket of the first
+     * submission. Throws {@link IdempotencyKeyConflictException} when the key
+     * was already used for a different transfer.
+     */
+    public TransferTicket submit(String idempotencyKey, Integer senderAccountNumber,
+                                 Integer receiverAccountNumber, long amountOfMoney) {
+        TransferTicket ticket = new TransferTicket(idempotencyKey, senderAccountNumber,
+                receiverAccountNumber, amountOfMoney);
+        if (!enabled) {
+            ticket.finish(TransferStatus.REJECTED, "Asynchronous transfers are disabled");
+            return ticket;
+        }
+
+        TransferTicket existing = idempotencyIndex.putIfAbsent(idempotencyKey, ticket);
+        if (existing != null) {
+            if (!existing.isSameTransfer(ticket)) {
+                throw new IdempotencyKeyConflictException("Key " + idempotencyKey
+                        + " is already used for a different transfer");
+            }
+            duplicates.increment();
+            log.info("Transfer with key " + idempotencyKey + " is already submitted.");
+            return existing;
+        }
+
+        if (!publish(ticket)) {
+            overflows.increment();
+            idempotencyIndex.remove(idempotencyKey, ticket);
+            ticket.finish(TransferStatus.REJECTED, "Transfer pipeline is full, try again later");
+            return ticket;
+        }
+        submitted.increment();
+        return ticket;
+    }
+
+    public TransferTicket findTicket(String idempotencyKey) {
+        return idempotencyIndex.get(idempotencyKey);
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("submitted", submitted.sum());
+        metrics.put("duplicates", duplicates.sum());
+        metrics.put("overflows", overflows.sum());
+        metrics.put("completed", completed.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("inFlight", published.get() - persisted.get());
+        metrics.put("indexedKeys", (long) idempotencyIndex.size());
+        return metrics;
+    }
+
+    private boolean publish(TransferTicket ticket) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(submitTimeoutMs);
+        publishLock.lock();
+        try {
+            long next = published.get() + 1;
+            cursorLock.lock();
+            try {
+                while (next - ring.length > persisted.get()) {
+                    if (!running || remaining <= 0) {
+                        return false;
+                    }
+                    remaining = cursorMoved.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                cursorLock.unlock();
+            }
+            ring[(int) (next & mask)].reset(ticket);
+            published.set(next);
+            signalCursorMoved();
+            return true;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void signalCursorMoved() {
+        cursorLock.lock();
+        try {
+            cursorMoved.signalAll();
+        } finally {
+            cursorLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the upstream cursor passes {@code next}, returns the
+     * upstream cursor or -1 when the pipeline is stopped.
+     */
+    private long awaitUpstream(AtomicLong upstream, long next) {
+        cursorLock.lock();
+        try {
+            long available;
+            while ((available = upstream.get()) < next) {
+                if (!running) {
+                    return -1;
+                }
+                cursorMoved.await();
+            }
+            return available;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } finally {
+            cursorLock.unlock();
+        }
+    }
+
+    private void startStage(String name, AtomicLong upstream, AtomicLong cursor, Consumer<TransferSlot> handler) {
+        Thread stage = new Thread(() -> runStage(upstream, cursor, handler), name);
+        stage.setDaemon(true);
+        stage.start();
+        stages.add(stage);
+    }
+
+    private void runStage(AtomicLong upstream, AtomicLong cursor, Consumer<TransferSlot> handler) {
+        while (running) {
+            long next = cursor.get() + 1;
+            long available = awaitUpstream(upstream, next);
+            if (available < 0) {
+                return;
+            }
+            for (; next <= available; next++) {
+                TransferSlot slot = ring[(int) (next & mask)];
+                TransferTicket ticket = slot.getTicket();
+                if (!ticket.getStatus().isFinal()) {
+                    try {
+                        handler.accept(slot);
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                        ticket.finish(TransferStatus.FAILED, e.getMessage());
+                        log.error("Transfer with key " + ticket.getIdempotencyKey() + " failed: " + e.getMessage());
+                    }
+                }
+                cursor.set(next);
+            }
+            signalCursorMoved();
+        }
+    }
+
+    private void validate(TransferSlot slot) {
+        TransferTicket ticket = slot.getTicket();
+        if (ticket.getAmountOfMoney() <= 0) {
+            reject(ticket, "Amount of money must be positive");
+            return;
+        }
+        if (ticket.getSenderAccountNumber().equals(ticket.getReceiverAccountNumber())) {
+            reject(ticket, "Sender and receiver accounts must be different");
+            return;
+        }
+
+        AccountSnapshot senderAccount = balanceStore.loadAccount(ticket.getSenderAccountNumber());
+        AccountSnapshot receiverAccount = balanceStore.loadAccount(ticket.getReceiverAccountNumber());
+        if (senderAccount == null || receiverAccount == null) {
+            reject(ticket, "Bank account is not found");
+            return;
+        }
+        if (ticket.getAmountOfMoney() > senderAccount.getAmountOfMoney()) {
+            reject(ticket, "Not enough money on the sender account");
+            return;
+        }
+
+        slot.setSenderAccount(senderAccount);
+        slot.setReceiverAccount(receiverAccount);
+        ticket.advance(TransferStatus.VALIDATED);
+    }
+
+    private void price(TransferSlot slot) {
+        TransferTicket ticket = slot.getTicket();
+        AccountSnapshot senderAccount = slot.getSenderAccount();
+        AccountSnapshot receiverAccount = slot.getReceiverAccount();
+        long sumOfMoney = ticket.getAmountOfMoney();
+
+        slot.setConvertSum(currencyConverter
+                .convert(sumOfMoney, senderAccount.getCurrency(), receiverAccount.getCurrency()));
+
+        if (senderAccount.getBankId().equals(receiverAccount.getBankId())) {
+            slot.setSumWithCommission(sumOfMoney);
+        } else {
+            slot.setSumWithCommission(sumOfMoney + Money.applyRatio(sumOfMoney, commissionService
+                    .findCommissionByClientTypeAndBankId(senderAccount.getOwnerType().ordinal(),
+                            senderAccount.getBankId())));
+        }
+        ticket.advance(TransferStatus.PRICED);
+    }
+
+    private void persist(TransferSlot slot) {
+        TransferTicket ticket = slot.getTicket();
+        Integer senderAccountNumber = ticket.getSenderAccountNumber();
+        Integer receiverAccountNumber = ticket.getReceiverAccountNumber();
+
+        boolean done;
+        try {
+            if (balanceEngine.isEnabled()) {
+                done = balanceEngine.transfer(senderAccountNumber, receiverAccountNumber, ticket.getAmountOfMoney(),
+                        slot.getSumWithCommission(), slot.getConvertSum());
+            } else {
+                done = accountLockManager.withLocks(senderAccountNumber, receiverAccountNumber,
+                        () -> accountLockManager.withRetry(() -> transferProcessor.transfer(
+                                senderAccountNumber, receiverAccountNumber, ticket.getAmountOfMoney(),
+                                slot.getSumWithCommission(), slot.getConvertSum())));
+            }
+        } catch (AccountNotFoundException e) {
+            reject(ticket, e.getMessage());
+            return;
+        }
+
+        if (!done) {
+            reject(ticket, "Not enough money on the sender account");
+            return;
+        }
+        completed.increment();
+        ticket.finish(TransferStatus.COMPLETED, null);
+    }
+
+    private void reject(TransferTicket ticket, String message) {
+        rejected.increment();
+        ticket.finish(TransferStatus.REJECTED, message);
+    }
+}
@@ -0,0 +1,27 @@
+package by.ganevich.pipeline;
+
+import by.ganevich.engine.AccountSnapshot;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Pre-allocated ring buffer entry, reused for every transfer that lands on it.
+ */
+@Getter
+@Setter
+class TransferSlot {
+
+    private TransferTicket ticket;
+    private AccountSnapshot senderAccount;
+    private AccountSnapshot receiverAccount;
+    private long sumWithCommission;
+    private long convertSum;
+
+    void reset(TransferTicket ticket) {
+        this.ticket = ticket;
+        this.senderAccount = null;
+        this.receiverAccount = null;
+        this.sumWithCommission = 0;
+        this.convertSum = 0;
+    }
+}
@@ -0,0 +1,14 @@
+package by.ganevich.pipeline;
+
+public enum TransferStatus {
+    ACCEPTED,
+    VALIDATED,
+    PRICED,
+    COMPLETED,
+    REJECTED,
+    FAILED;
+
+    public boolean isFinal() {
+        return this == COMPLETED || this == REJECTED || this == FAILED;
+    }
+}
@@ -0,0 +1,40 @@
+package by.ganevich.pipeline;
+
+import lombok.Getter;
+
+@Getter
+public class TransferTicket {
+
+    private final String idempotencyKey;
+    private final Integer senderAccountNumber;
+    private final Integer receiverAccountNumber;
+    private final long amountOfMoney;
+    private final long submittedAt;
+
+    private volatile TransferStatus status = TransferStatus.ACCEPTED;
+    private volatile String message;
+
+    public TransferTicket(String idempotencyKey, Integer senderAccountNumber, Integer receiverAccountNumber,
+                          long amountOfMoney) {
+        this.idempotencyKey = idempotencyKey;
+        this.senderAccountNumber = senderAccountNumber;
+        this.receiverAccountNumber = receiverAccountNumber;
+        this.amountOfMoney = amountOfMoney;
+        this.submittedAt = System.currentTimeMillis();
+    }
+
+    public boolean isSameTransfer(TransferTicket other) {
+        return senderAccountNumber.equals(other.senderAccountNumber)
+                && receiverAccountNumber.equals(other.receiverAccountNumber)
+                && amountOfMoney == other.amountOfMoney;
+    }
+
+    void advance(TransferStatus status) {
+        this.status = status;
+    }
+
+    void finish(TransferStatus status, String message) {
+        this.message = message;
+        this.status = status;
+    }
+}
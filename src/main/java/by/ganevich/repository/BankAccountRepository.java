@@ -1,27 +1,71 @@
 package by.ganevich.repository;
 
+import by.ganevich.dto.BankAccountDto;
+import by.ganevich.engine.AccountSnapshot;
 import by.ganevich.entity.Bank;
 import by.ganevich.entity.BankAccount;
 import by.ganevich.entity.Client;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
 
-    @EntityGraph(value = "bankAccounts-entity-graph", type = EntityGraph.EntityGraphType.LOAD)
+    @EntityGraph(value = "bankAccounts-transfer-graph", type = EntityGraph.EntityGraphType.LOAD)
     BankAccount findBankAccountByOwnerAndBankProducer(Client owner, Bank bankProducer);
 
-    @EntityGraph(value = "bankAccounts-entity-graph", type = EntityGraph.EntityGraphType.LOAD)
+    @EntityGraph(value = "bankAccounts-listing-graph", type = EntityGraph.EntityGraphType.LOAD)
     Set<BankAccount> findBankAccountByOwner(Client owner);
 
-    List<BankAccount> findBankAccountByOwnerId(Long id);
+    @EntityGraph(value = "bankAccounts-listing-graph", type = EntityGraph.EntityGraphType.LOAD)
+    @Query("select distinct b from BankAccount b where b.owner.id = :id")
+    List<BankAccount> findBankAccountByOwnerId(@Param("id") Long id);
 
+    @EntityGraph(value = "bankAccounts-transfer-graph", type = EntityGraph.EntityGraphType.LOAD)
     BankAccount findBankAccountByNumber(Integer number);
 
+    /**
+     * What a transfer needs to know about an account, read in one query
+     * without loading the account entity.
+     */
+    @Query("select new AccountSnapshot(b.id, b.number, b.currency, b.amountOfMoney, "
+            + "o.id, o.type, p.id) from BankAccount b join b.owner o join b.bankProducer p where b.number = :number")
+    AccountSnapshot findSnapshotByNumber(@Param("number") Integer number);
+
+    @Query("select new BankAccountDto(b.id, b.number, b.currency, b.amountOfMoney, "
+            + "o.id, o.name, o.type, p.id, p.name) from BankAccount b join b.owner o join b.bankProducer p "
+            + "where o.id = :id order by b.id")
+    List<BankAccountDto> findDtosByOwnerId(@Param("id") Long id);
+
     List<BankAccount> findBankAccountByBankProducer(Bank bank);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"))
+    @Query("select b from BankAccount b join fetch b.owner join fetch b.bankProducer where b.number in :numbers")
+    List<BankAccount> findAllWithOwnerAndBankByNumberIn(@Param("numbers") Collection<Integer> numbers);
+
+    @Modifying
+    @Query("update BankAccount b set b.amountOfMoney = b.amountOfMoney + :delta, b.version = b.version + 1 "
+            + "where b.number = :number")
+    void addAmountOfMoney(@Param("number") Integer number, @Param("delta") long delta);
+
+    @Query("select b.amountOfMoney from BankAccount b where b.number = :number")
+    Long findAmountOfMoneyByNumber(@Param("number") Integer number);
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select b from BankAccount b")
+    Stream<BankAccount> streamAll();
 }
@@ -1,16 +1,22 @@
 package by.ganevich.repository;
 
+import by.ganevich.dto.BankDto;
 import by.ganevich.entity.Bank;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BankRepository extends JpaRepository<Bank, Long> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     @EntityGraph(value = "banks-entity-graph", type = EntityGraph.EntityGraphType.LOAD)
     Bank findByName(String name);
 
@@ -19,4 +25,13 @@ public interface BankRepository extends JpaRepository<Bank, Long> {
 
     Optional<Bank> findById(Long id);
 
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select b from Bank b")
+    Stream<Bank> streamAll();
+
+    @Query("select new BankDto(b.id, b.name) from Bank b order by b.id")
+    List<BankDto> findAllDtos();
 }
@@ -1,10 +1,27 @@
 package by.ganevich.repository;
 
+import by.ganevich.dto.ClientDto;
 import by.ganevich.entity.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
     Client findByName(String name);
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select c from Client c")
+    Stream<Client> streamAll();
+
+    @Query("select new ClientDto(c.id, c.name, c.type) from Client c order by c.id")
+    List<ClientDto> findAllDtos();
 }
@@ -3,10 +3,28 @@ package by.ganevich.repository;
 import by.ganevich.entity.Bank;
 import by.ganevich.entity.Commission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
 
 public interface CommissionRepository extends JpaRepository<Commission, Long> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Commission findCommissionByClientTypeAndBank(Integer clientType, Bank bank);
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Commission findByBankAndClientType(Bank bank, Integer clientType);
+
+    @Query("select c.bank.id as bankId, c.clientType as clientType, c.commission as commission from Commission c")
+    List<CommissionView> findAllViews();
+
+    interface CommissionView {
+        Long getBankId();
+
+        Integer getClientType();
+
+        long getCommission();
+    }
 }
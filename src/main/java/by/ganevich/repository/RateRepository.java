@@ -2,8 +2,12 @@ package by.ganevich.repository;
 
 import by.ganevich.entity.Rate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
 
 public interface RateRepository extends JpaRepository<Rate, Long> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Rate findRateByCurrency(int currency);
 }
@@ -1,26 +1,65 @@
 package by.ganevich.repository;
 
-import by.ganevich.entity.Client;
 import by.ganevich.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.sql.Date;
 import java.util.List;
-import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     @EntityGraph(value = "transactions-entity-graph", type = EntityGraph.EntityGraphType.LOAD)
-    Set<Transaction> findAllByDateBetweenAndSender(Date dateBefore, Date dateAfter, Client client);
+    @Query("select t from Transaction t where t.sender.id = :clientId and t.date <= :dateAfter "
+            + "and (t.date, t.id) > (:date, :id) order by t.date, t.id")
+    List<Transaction> findPageBySender(@Param("clientId") Long clientId, @Param("dateAfter") Date dateAfter,
+                                       @Param("date") Date date, @Param("id") long id, Pageable pageable);
 
     @EntityGraph(value = "transactions-entity-graph", type = EntityGraph.EntityGraphType.LOAD)
-    Set<Transaction> findAllByDateBetweenAndReceiver(Date dateBefore, Date dateAfter, Client client);
+    @Query("select t from Transaction t where t.receiver.id = :clientId and t.date <= :dateAfter "
+            + "and (t.date, t.id) > (:date, :id) order by t.date, t.id")
+    List<Transaction> findPageByReceiver(@Param("clientId") Long clientId, @Param("dateAfter") Date dateAfter,
+                                         @Param("date") Date date, @Param("id") long id, Pageable pageable);
 
-    List<Transaction> findAllByDateBetweenAndSenderIdOrReceiverId(Date dateBefore, Date dateAfter,
-                                                                  Long senderId, Long receiverId);
+    /**
+     * Transactions sent or received by the client after the {@code (date, id)}
+     * key, as two limited range scans of the (senderId, date, id) and
+     * (receiverId, date, id) indexes. Transfers of a client to itself are taken
+     * from the first one only.
+     */
+    @Query(value = "select h.* from ("
+            + "(select t.* from transactions t "
+            + "where t.senderId = :clientId and t.date <= :dateAfter and (t.date, t.id) > (:date, :id) "
+            + "order by t.date, t.id limit :limit) "
+            + "union all "
+            + "(select t.* from transactions t "
+            + "where t.receiverId = :clientId and t.date <= :dateAfter and (t.date, t.id) > (:date, :id) "
+            + "and t.senderId <> :clientId "
+            + "order by t.date, t.id limit :limit)"
+            + ") h order by h.date, h.id limit :limit",
+            nativeQuery = true)
+    List<Transaction> findHistoryPage(@Param("clientId") Long clientId, @Param("dateAfter") Date dateAfter,
+                                      @Param("date") Date date, @Param("id") long id, @Param("limit") int limit);
 
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select t from Transaction t")
+    Stream<Transaction> streamAll();
 
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select t from Transaction t where t.id > :id order by t.id")
+    Stream<Transaction> streamAllByIdGreaterThan(@Param("id") Long id);
 }
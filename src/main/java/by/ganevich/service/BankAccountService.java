@@ -1,5 +1,7 @@
 package by.ganevich.service;
 
+import by.ganevich.dto.BankAccountDto;
+import by.ganevich.engine.BalanceEngine;
 import by.ganevich.entity.Bank;
 import by.ganevich.entity.BankAccount;
 import by.ganevich.entity.Client;
@@ -9,9 +11,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -20,13 +25,21 @@ import java.util.Set;
 public class BankAccountService implements BaseService<BankAccount> {
 
     private final BankAccountRepository bankAccountRepository;
+    private final BalanceEngine balanceEngine;
 
     public void save(BankAccount bankAccount) {
         log.info("BankAccountService: Save of bank accounts is called");
         bankAccountRepository.save(bankAccount);
+        balanceEngine.evict(Collections.singletonList(bankAccount.getNumber()));
         log.info("Bank account " + bankAccount.getId() + " successfully created.");
     }
 
+    public void saveAll(List<BankAccount> bankAccounts) {
+        bankAccountRepository.saveAll(bankAccounts);
+        balanceEngine.evict(bankAccounts.stream().map(BankAccount::getNumber).collect(Collectors.toList()));
+        log.info(bankAccounts.size() + " bank accounts are successfully saved.");
+    }
+
     public BankAccount getAccountByClientAndBank(Client client, Bank bank) {
         BankAccount bankAccount = bankAccountRepository.findBankAccountByOwnerAndBankProducer(client, bank);
         log.info("Bank account " + bankAccount.getId() + " successfully found.");
@@ -50,6 +63,13 @@ public class BankAccountService implements BaseService<BankAccount> {
         return bankAccounts;
     }
 
+    @Transactional(readOnly = true)
+    public List<BankAccountDto> findBankAccountDtosByClientId(Long id) {
+        List<BankAccountDto> bankAccounts = bankAccountRepository.findDtosByOwnerId(id);
+        log.info("Bank accounts of client " + id + " successfully found.");
+        return bankAccounts;
+    }
+
     public BankAccount findBankAccountByNumber(Integer number) {
         BankAccount bankAccount = bankAccountRepository.findBankAccountByNumber(number);
         log.info("Bank account with number " + number + " successfully found.");
@@ -62,6 +82,14 @@ public class BankAccountService implements BaseService<BankAccount> {
         return bankAccounts;
     }
 
+    public Stream<BankAccount> streamAll() {
+        return bankAccountRepository.streamAll();
+    }
+
+    public long count() {
+        return bankAccountRepository.count();
+    }
+
     public Optional<BankAccount> findBankAccountById(Long id) {
         return bankAccountRepository.findById(id);
     }
@@ -1,14 +1,24 @@
 package by.ganevich.service;
 
+import by.ganevich.cache.ReferenceDataCache;
+import by.ganevich.cache.SecondLevelCache;
+import by.ganevich.dto.BankDto;
+import by.ganevich.dto.CommissionDto;
 import by.ganevich.entity.Bank;
+import by.ganevich.money.Money;
 import by.ganevich.repository.BankRepository;
+import by.ganevich.repository.CommissionRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -17,13 +27,25 @@ import java.util.Optional;
 public class BankService implements BaseService<Bank>{
 
     private final BankRepository bankRepository;
+    private final CommissionRepository commissionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SecondLevelCache secondLevelCache;
 
     public void save(Bank bank) {
         log.info("BankService: Save of bank is called");
         bankRepository.save(bank);
+        referenceDataCache.invalidate();
+        secondLevelCache.evictBankCommissions();
         log.info("Bank " + bank.getId() + " successfully created.");
     }
 
+    public void saveAll(List<Bank> banks) {
+        bankRepository.saveAll(banks);
+        referenceDataCache.invalidate();
+        secondLevelCache.evictBankCommissions();
+        log.info(banks.size() + " banks are successfully saved.");
+    }
+
     public List<Bank> readAll() {
         log.info("BankService: Read All banks is called.");
         List<Bank> banks = bankRepository.findAll();
@@ -31,6 +53,35 @@ public class BankService implements BaseService<Bank>{
         return banks;
     }
 
+    /**
+     * Banks with their commissions read as two flat projections, no bank or
+     * commission entity is loaded into the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public List<BankDto> readAllDtos() {
+        log.info("BankService: Read All banks is called.");
+        List<BankDto> banks = bankRepository.findAllDtos();
+        Map<Long, BankDto> byId = banks.stream()
+                .collect(Collectors.toMap(BankDto::getId, Function.identity()));
+        for (CommissionRepository.CommissionView view : commissionRepository.findAllViews()) {
+            BankDto bank = byId.get(view.getBankId());
+            if (bank != null) {
+                bank.getCommissions().add(new CommissionDto(view.getClientType(),
+                        Money.formatRatio(view.getCommission())));
+            }
+        }
+        log.info("The list of banks is successfully read.");
+        return banks;
+    }
+
+    public Stream<Bank> streamAll() {
+        return bankRepository.streamAll();
+    }
+
+    public long count() {
+        return bankRepository.count();
+    }
+
     public Bank findBankByName(String name) {
         log.info("BankService: Find bank by name is called");
         Bank bank = bankRepository.findByName(name);
@@ -41,6 +92,8 @@ public class BankService implements BaseService<Bank>{
     public void removeBank(Bank bank) {
         log.info("BankService: Remove bank is called");
         bankRepository.delete(bank);
+        referenceDataCache.invalidate();
+        secondLevelCache.evictBankCommissions();
         log.info("Bank " + bank.getId() + " successfully removed.");
     }
 
@@ -52,6 +105,8 @@ public class BankService implements BaseService<Bank>{
 
     public void deleteBankById(Long id) {
         bankRepository.deleteById(id);
+        referenceDataCache.invalidate();
+        secondLevelCache.evictBankCommissions();
         log.info("Bank " + id + " successfully removed.");
     }
 
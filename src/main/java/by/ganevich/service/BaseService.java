@@ -1,9 +1,13 @@
 package by.ganevich.service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BaseService<T> {
 
     List<T> readAll();
+    Stream<T> streamAll();
+    long count();
     void save(T entity);
+    void saveAll(List<T> entities);
 }
@@ -0,0 +1,130 @@
+package by.ganevich.service;
+
+import by.ganevich.cache.CurrencyConverter;
+import by.ganevich.dto.BatchTransferResultDto;
+import by.ganevich.engine.BalanceEngine;
+import by.ganevich.entity.BankAccount;
+import by.ganevich.money.Money;
+import by.ganevich.repository.BankAccountRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+@Transactional
+public class BatchTransferProcessor {
+
+    private static final String INSERT_TRANSACTION = "insert into transactions "
+            + "(senderId, receiverId, amountOfMoney, senderAccountId, receiverAccountId, date) "
+            + "values (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_BALANCE = "update bankAccounts "
+            + "set amountOfMoney = ?, version = version + 1 where id = ? and version = ?";
+
+    private final BankAccountRepository bankAccountRepository;
+    private final CurrencyConverter currencyConverter;
+    private final CommissionService commissionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final BalanceEngine balanceEngine;
+
+    /**
+     * Nets the lines against the database balances. Deltas the balance engine
+     * has not written behind yet are flushed first, so the funds check does not
+     * read balances that miss them.
+     */
+    public void transfer(List<BatchTransferResultDto> lines, Collection<Integer> accountNumbers) {
+
+        if (balanceEngine.isEnabled()) {
+            balanceEngine.flushNow();
+        }
+
+        Map<Integer, BankAccount> accounts = new HashMap<>();
+        for (BankAccount bankAccount : bankAccountRepository.findAllWithOwnerAndBankByNumberIn(accountNumbers)) {
+            accounts.put(bankAccount.getNumber(), bankAccount);
+        }
+
+        // netted here and written by UPDATE_BALANCE only, the loaded accounts stay
+        // untouched so the flush at commit does not send a second, stale versioned update
+        Map<BankAccount, Long> balances = new LinkedHashMap<>();
+        List<Object[]> transactions = new ArrayList<>(lines.size());
+        Date date = new Date(System.currentTimeMillis());
+
+        for (BatchTransferResultDto line : lines) {
+            BankAccount senderAccount = accounts.get(Integer.valueOf(line.getSenderAccountNumber()));
+            BankAccount recipientAccount = accounts.get(Integer.valueOf(line.getReceiverAccountNumber()));
+            if (senderAccount == null || recipientAccount == null) {
+                line.setStatus(BatchTransferResultDto.REJECTED);
+                line.setMessage("Bank account is not found");
+                continue;
+            }
+
+            long sumOfMoney = Money.parse(line.getAmountOfMoney());
+            long senderBalance = balances.getOrDefault(senderAccount, senderAccount.getAmountOfMoney());
+            if (sumOfMoney > senderBalance) {
+                line.setStatus(BatchTransferResultDto.REJECTED);
+                line.setMessage("Not enough money on the sender account");
+                continue;
+            }
+
+            long convertSum = currencyConverter
+                    .convert(sumOfMoney, senderAccount.getCurrency(), recipientAccount.getCurrency());
+
+            long sumWithCommission;
+            if (senderAccount.getBankProducer().getId().equals(recipientAccount.getBankProducer().getId())) {
+                sumWithCommission = sumOfMoney;
+            } else {
+                sumWithCommission = sumOfMoney + Money.applyRatio(sumOfMoney, commissionService
+                        .findCommissionByClientTypeAndBankId(senderAccount.getOwner().getType().ordinal(),
+                                senderAccount.getBankProducer().getId()));
+            }
+
+            balances.put(senderAccount, senderBalance - sumWithCommission);
+            balances.put(recipientAccount,
+                    balances.getOrDefault(recipientAccount, recipientAccount.getAmountOfMoney()) + convertSum);
+
+            transactions.add(new Object[] {
+                    senderAccount.getOwner().getId(),
+                    recipientAccount.getOwner().getId(),
+                    sumOfMoney,
+                    senderAccount.getId(),
+                    recipientAccount.getId(),
+                    date
+            });
+            line.setStatus(BatchTransferResultDto.COMPLETED);
+            line.setMessage(null);
+        }
+
+        List<Object[]> balanceUpdates = new ArrayList<>(balances.size());
+        List<BankAccount> updatedAccounts = new ArrayList<>(balances.keySet());
+        for (BankAccount bankAccount : updatedAccounts) {
+            balanceUpdates.add(new Object[] {
+                    balances.get(bankAccount), bankAccount.getId(), bankAccount.getVersion()
+            });
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_BALANCE, balanceUpdates);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new ObjectOptimisticLockingFailureException(BankAccount.class, updatedAccounts.get(i).getId());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions);
+        balanceEngine.evict(accounts.keySet());
+
+        log.info(transactions.size() + " transactions of the batch are written, "
+                + balanceUpdates.size() + " balances are netted.");
+    }
+}
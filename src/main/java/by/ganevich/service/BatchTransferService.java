@@ -0,0 +1,70 @@
+package by.ganevich.service;
+
+import by.ganevich.dto.BatchTransferResultDto;
+import by.ganevich.dto.ConductTransactionDto;
+import by.ganevich.engine.AccountLockManager;
+import by.ganevich.engine.BalanceEngine;
+import by.ganevich.money.Money;
+import by.ganevich.validator.CustomValidator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class BatchTransferService {
+
+    private final BatchTransferProcessor batchTransferProcessor;
+    private final BalanceEngine balanceEngine;
+    private final AccountLockManager accountLockManager;
+    private final CustomValidator<ConductTransactionDto> transactionValidator;
+
+    public List<BatchTransferResultDto> sendMoney(List<ConductTransactionDto> transfers) {
+
+        log.info("BatchTransferService: Send money is called for " + transfers.size() + " transfers.");
+
+        List<BatchTransferResultDto> results = new ArrayList<>(transfers.size());
+        List<BatchTransferResultDto> validLines = new ArrayList<>(transfers.size());
+        Set<Integer> accountNumbers = new HashSet<>();
+
+        for (int i = 0; i < transfers.size(); i++) {
+            ConductTransactionDto transfer = transfers.get(i);
+            BatchTransferResultDto result = new BatchTransferResultDto(i + 1,
+                    transfer.getSenderAccountNumber(), transfer.getReceiverAccountNumber(),
+                    transfer.getAmountOfMoney(), null, null);
+            results.add(result);
+
+            List<String> violations = transactionValidator.validateCommand(transfer);
+            if (!violations.isEmpty()) {
+                result.setStatus(BatchTransferResultDto.INVALID);
+                result.setMessage(String.join("; ", violations));
+                continue;
+            }
+            validLines.add(result);
+            accountNumbers.add(Integer.valueOf(transfer.getSenderAccountNumber()));
+            accountNumbers.add(Integer.valueOf(transfer.getReceiverAccountNumber()));
+        }
+
+        if (balanceEngine.isEnabled()) {
+            for (BatchTransferResultDto line : validLines) {
+                boolean completed = balanceEngine.transfer(Integer.valueOf(line.getSenderAccountNumber()),
+                        Integer.valueOf(line.getReceiverAccountNumber()), Money.parse(line.getAmountOfMoney()));
+                line.setStatus(completed ? BatchTransferResultDto.COMPLETED : BatchTransferResultDto.REJECTED);
+            }
+        } else if (!validLines.isEmpty()) {
+            accountLockManager.withLocks(accountNumbers, () -> accountLockManager.withRetry(() -> {
+                batchTransferProcessor.transfer(validLines, accountNumbers);
+                return null;
+            }));
+        }
+
+        log.info("Batch of " + transfers.size() + " transfers was carried out.");
+        return results;
+    }
+}
@@ -1,5 +1,6 @@
 package by.ganevich.service;
 
+import by.ganevich.dto.ClientDto;
 import by.ganevich.entity.Client;
 import by.ganevich.repository.BankAccountRepository;
 import by.ganevich.repository.ClientRepository;
@@ -10,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -26,6 +28,11 @@ public class ClientService implements BaseService<Client> {
         log.info("Client " + client.getId() + " successfully created.");
     }
 
+    public void saveAll(List<Client> clients) {
+        clientRepository.saveAll(clients);
+        log.info(clients.size() + " clients are successfully saved.");
+    }
+
     public List<Client> readAll() {
         log.info("ClientService: Read all of clients is called.");
         List<Client> clients = clientRepository.findAll();
@@ -33,6 +40,22 @@ public class ClientService implements BaseService<Client> {
         return clients;
     }
 
+    @Transactional(readOnly = true)
+    public List<ClientDto> readAllDtos() {
+        log.info("ClientService: Read all of clients is called.");
+        List<ClientDto> clients = clientRepository.findAllDtos();
+        log.info("The list of clients is successfully read.");
+        return clients;
+    }
+
+    public Stream<Client> streamAll() {
+        return clientRepository.streamAll();
+    }
+
+    public long count() {
+        return clientRepository.count();
+    }
+
     public Client findClientByName(String name) {
         log.info("ClientService: Find client by name is called");
         Client client = clientRepository.findByName(name);
@@ -1,5 +1,7 @@
 package by.ganevich.service;
 
+import by.ganevich.cache.ReferenceDataCache;
+import by.ganevich.cache.SecondLevelCache;
 import by.ganevich.entity.Bank;
 import by.ganevich.entity.ClientType;
 import by.ganevich.entity.Commission;
@@ -16,10 +18,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class CommissionService {
 
     private final CommissionRepository commissionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SecondLevelCache secondLevelCache;
 
-    public Double findCommissionByClientTypeAndBank(Integer clientType, Bank bank) {
-        Commission commission = commissionRepository.findCommissionByClientTypeAndBank(clientType, bank);
-        return commission.getCommission();
+    public long findCommissionByClientTypeAndBank(Integer clientType, Bank bank) {
+        return referenceDataCache.getCommission(clientType, bank.getId());
+    }
+
+    public long findCommissionByClientTypeAndBankId(Integer clientType, Long bankId) {
+        return referenceDataCache.getCommission(clientType, bankId);
     }
 
     public Commission findByBankAndClientType(Bank bank, ClientType clientType) {
@@ -29,9 +36,13 @@ public class CommissionService {
 
     public void saveCommission(Commission commission) {
         commissionRepository.save(commission);
+        referenceDataCache.invalidate();
+        secondLevelCache.evictBankCommissions();
     }
 
     public void delete(Commission commission) {
         commissionRepository.delete(commission);
+        referenceDataCache.invalidate();
+        secondLevelCache.evictBankCommissions();
     }
 }
@@ -1,5 +1,6 @@
 package by.ganevich.service;
 
+import by.ganevich.cache.ReferenceDataCache;
 import by.ganevich.entity.Rate;
 import by.ganevich.repository.RateRepository;
 import lombok.AllArgsConstructor;
@@ -14,9 +15,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class RateService {
 
     private final RateRepository rateRepository;
+    private final ReferenceDataCache referenceDataCache;
 
-    public Double findRateByCurrency(int currency) {
-        Rate rate = rateRepository.findRateByCurrency(currency);
-        return rate.getRate();
+    public long findRateByCurrency(int currency) {
+        return referenceDataCache.getRate(currency);
+    }
+
+    public void saveRate(Rate rate) {
+        rateRepository.save(rate);
+        referenceDataCache.invalidate();
+        log.info("Rate of currency " + rate.getCurrency() + " is saved.");
     }
 }
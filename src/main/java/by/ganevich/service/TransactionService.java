@@ -1,105 +1,166 @@
 package by.ganevich.service;
 
-import by.ganevich.entity.BankAccount;
-import by.ganevich.entity.Client;
+import by.ganevich.engine.AccountLockManager;
+import by.ganevich.engine.BalanceEngine;
 import by.ganevich.entity.Transaction;
+import by.ganevich.journal.JournaledTransfer;
+import by.ganevich.journal.TransferJournal;
+import by.ganevich.pagination.TransactionCursor;
+import by.ganevich.pagination.TransactionPage;
 import by.ganevich.repository.TransactionRepository;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class TransactionService implements BaseService<Transaction> {
 
     private final TransactionRepository transactionRepository;
-    private final BankAccountService bankAccountService;
-    private final RateService rateService;
-    private final CommissionService commissionService;
+    private final TransferProcessor transferProcessor;
+    private final BalanceEngine balanceEngine;
+    private final AccountLockManager accountLockManager;
+    private final TransferJournal transferJournal;
+
+    @Value("${transaction.history.page-size:50}")
+    private int pageSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startTransferJournal() {
+        transferJournal.start(new TransferJournal.Applier() {
+            @Override
+            public void apply(JournaledTransfer transfer) {
+                applyJournaledTransfer(transfer);
+            }
+
+            @Override
+            public void sync() {
+                if (balanceEngine.isEnabled()) {
+                    balanceEngine.flushNow();
+                }
+            }
+        });
+    }
 
-    public void sendMoney(Integer senderAccountNumber, Integer receiverAccountNumber, Double sumOfMoney) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sendMoney(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney) {
 
         log.info("TransactionService: Send money is called.");
+        if (sumOfMoney <= 0) {
+            throw new IllegalArgumentException("Amount of money must be positive");
+        }
+
+        if (transferJournal.isRunning()) {
+            long sequence = transferJournal.append(senderAccountNumber, receiverAccountNumber, sumOfMoney);
+            log.info("Transfer " + sequence + " is journaled.");
+            return;
+        }
+
+        applyTransfer(senderAccountNumber, receiverAccountNumber, sumOfMoney);
+    }
 
-        BankAccount senderAccount = bankAccountService.findBankAccountByNumber(senderAccountNumber);
-        BankAccount recipientAccount = bankAccountService.findBankAccountByNumber(receiverAccountNumber);
+    /**
+     * Applies a journaled transfer with the date it was submitted at. A transfer
+     * that can not be carried out fails, so the journal keeps it as a dead letter.
+     */
+    private void applyJournaledTransfer(JournaledTransfer transfer) {
+        if (!applyTransfer(transfer.getSenderAccountNumber(), transfer.getReceiverAccountNumber(),
+                transfer.getAmountOfMoney(), transfer.getDate())) {
+            throw new IllegalStateException("Transfer is rejected: account is not found or not enough money");
+        }
+    }
 
-        Double senderSum = senderAccount.getAmountOfMoney();
-        Double recipientSum = recipientAccount.getAmountOfMoney();
+    private boolean applyTransfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney) {
+        return applyTransfer(senderAccountNumber, receiverAccountNumber, sumOfMoney, System.currentTimeMillis());
+    }
 
-        if (sumOfMoney <= senderSum) {
-            Double convertSum = sumOfMoney
-                            * rateService.findRateByCurrency(senderAccount.getCurrency().ordinal())
-                            / rateService.findRateByCurrency(recipientAccount.getCurrency().ordinal());
+    private boolean applyTransfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney,
+                                  long date) {
+        if (balanceEngine.isEnabled()) {
+            return balanceEngine.transfer(senderAccountNumber, receiverAccountNumber, sumOfMoney, date);
+        }
 
-            Double sumWithCommission;
+        return accountLockManager.withLocks(senderAccountNumber, receiverAccountNumber,
+                () -> accountLockManager.withRetry(() -> transferProcessor.transfer(
+                        senderAccountNumber, receiverAccountNumber, sumOfMoney, new Date(date))));
+    }
 
-            if (senderAccount.getBankProducer().getName().equals(recipientAccount.getBankProducer().getName())) {
-                sumWithCommission = sumOfMoney;
-            } else {
-                sumWithCommission = sumOfMoney
-                        + sumOfMoney
-                        * commissionService
-                        .findCommissionByClientTypeAndBank(senderAccount.getOwner().getType().ordinal(),
-                                senderAccount.getBankProducer());
-            }
+    public TransactionPage readPageBySender(Date dateBefore, Date dateAfter, Long clientId, String cursor) {
 
-            senderAccount.setAmountOfMoney(senderSum - sumWithCommission);
-            recipientAccount.setAmountOfMoney(recipientSum + convertSum);
+        log.info("TransactionService: Read page by date and sender is called.");
 
-            bankAccountService.save(senderAccount);
-            bankAccountService.save(recipientAccount);
+        TransactionCursor position = positionOf(dateBefore, cursor);
+        TransactionPage page = toPage(transactionRepository.findPageBySender(clientId, dateAfter,
+                position.getDate(), position.getId(), PageRequest.of(0, pageSize + 1)));
 
-            Transaction transaction = new Transaction();
-            long millis = System.currentTimeMillis();
-            transaction.setDate(new Date(millis));
-            transaction.setAmountOfMoney(sumOfMoney);
-            transaction.setSenderAccount(senderAccount);
-            transaction.setReceiverAccount(recipientAccount);
-            transaction.setSender(senderAccount.getOwner());
-            transaction.setReceiver(recipientAccount.getOwner());
-            transactionRepository.save(transaction);
+        log.info(page.getTransactions().size() + " transactions of sender " + clientId + " by date between "
+                + dateBefore + " and " + dateAfter + " are successfully found.");
 
-            log.info("Transaction from " + senderAccount.getOwner() + " to " + recipientAccount.getOwner() + "was carried successfully.");
-        }
+        return page;
     }
 
-    public Set<Transaction> readAllByDateAndSender(Date dateBefore, Date dateAfter, Client client) {
+    public TransactionPage readPageByReceiver(Date dateBefore, Date dateAfter, Long clientId, String cursor) {
 
-        log.info("TransactionService: Read all by date and sender is called.");
+        log.info("TransactionService: Read page by date and receiver is called.");
 
-        Set<Transaction> transactions =
-                transactionRepository.findAllByDateBetweenAndSender(dateBefore, dateAfter, client);
+        TransactionCursor position = positionOf(dateBefore, cursor);
+        TransactionPage page = toPage(transactionRepository.findPageByReceiver(clientId, dateAfter,
+                position.getDate(), position.getId(), PageRequest.of(0, pageSize + 1)));
 
-        log.info("Transactions of sender " + client.getName() + " by date between " + dateBefore + " and " + dateAfter + "are successfully found.");
+        log.info(page.getTransactions().size() + " transactions of receiver " + clientId + " by date between "
+                + dateBefore + " and " + dateAfter + " are successfully found.");
 
-        return transactions;
+        return page;
     }
 
-    public Set<Transaction> readAllByDateAndReceiver(Date dateBefore, Date dateAfter, Client client) {
+    public TransactionPage readHistoryPage(Date dateBefore, Date dateAfter, Long clientId, String cursor) {
 
-        log.info("TransactionService: Read all by date and receiver is called.");
+        log.info("TransactionService: Read history page of client is called.");
 
-        Set<Transaction> transactions =
-                transactionRepository.findAllByDateBetweenAndReceiver(dateBefore, dateAfter, client);
-        log.info("Transactions of receiver " + client.getName() + " by date between " + dateBefore + " and " + dateAfter + "are successfully found.");
+        TransactionCursor position = positionOf(dateBefore, cursor);
+        TransactionPage page = toPage(transactionRepository.findHistoryPage(clientId, dateAfter,
+                position.getDate(), position.getId(), pageSize + 1));
 
-        return transactions;
+        log.info(page.getTransactions().size() + " transactions of client " + clientId + " by date between "
+                + dateBefore + " and " + dateAfter + " are successfully found.");
+
+        return page;
     }
 
-    public List<Transaction> readAllByClientId (Date dateBefore, Date dateAfter, Long id) {
-        List<Transaction> transactions =
-                transactionRepository.findAllByDateBetweenAndSenderIdOrReceiverId(dateBefore, dateAfter, id, id);
+    /**
+     * Where a page starts: right after the cursor, or at the first
+     * transaction of {@code dateBefore} on the first page.
+     */
+    private TransactionCursor positionOf(Date dateBefore, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return TransactionCursor.startOf(dateBefore);
+        }
+        return TransactionCursor.decode(cursor);
+    }
 
-        log.info("Transactions of client " + id + " by date between " + dateBefore + " and " + dateAfter + "are successfully found.");
-        return transactions;
+    /**
+     * Every page query fetches one row more than a page, which tells whether
+     * there is a next page without counting the rest.
+     */
+    private TransactionPage toPage(List<Transaction> transactions) {
+        if (transactions.size() <= pageSize) {
+            return new TransactionPage(transactions, null);
+        }
+        List<Transaction> page = new ArrayList<>(transactions.subList(0, pageSize));
+        return new TransactionPage(page, TransactionCursor.after(page.get(pageSize - 1)).encode());
     }
 
     public List<Transaction> readAll() {
@@ -108,8 +169,25 @@ public class TransactionService implements BaseService<Transaction> {
         return transactions;
     }
 
+    public Stream<Transaction> streamAll() {
+        return transactionRepository.streamAll();
+    }
+
+    public long count() {
+        return transactionRepository.count();
+    }
+
+    public Stream<Transaction> streamAfter(Long id) {
+        return transactionRepository.streamAllByIdGreaterThan(id);
+    }
+
     public void save(Transaction transaction) {
         transactionRepository.save(transaction);
         log.info("Transactions is saved");
     }
+
+    public void saveAll(List<Transaction> transactions) {
+        transactionRepository.saveAll(transactions);
+        log.info(transactions.size() + " transactions are successfully saved.");
+    }
 }
@@ -0,0 +1,106 @@
+package by.ganevich.service;
+
+import by.ganevich.cache.CurrencyConverter;
+import by.ganevich.entity.BankAccount;
+import by.ganevich.entity.Transaction;
+import by.ganevich.exception.AccountNotFoundException;
+import by.ganevich.money.Money;
+import by.ganevich.repository.TransactionRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+@Transactional
+public class TransferProcessor {
+
+    private final TransactionRepository transactionRepository;
+    private final BankAccountService bankAccountService;
+    private final CurrencyConverter currencyConverter;
+    private final CommissionService commissionService;
+
+    public void transfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney) {
+        transfer(senderAccountNumber, receiverAccountNumber, sumOfMoney, new Date(System.currentTimeMillis()));
+    }
+
+    /**
+     * Carries out the transfer with the given transaction date, returns false
+     * when the sender has not enough money.
+     */
+    public boolean transfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney, Date date) {
+
+        BankAccount senderAccount = bankAccountService.findBankAccountByNumber(senderAccountNumber);
+        BankAccount recipientAccount = bankAccountService.findBankAccountByNumber(receiverAccountNumber);
+        if (senderAccount == null || recipientAccount == null) {
+            throw new AccountNotFoundException("Bank account is not found");
+        }
+
+        if (sumOfMoney <= senderAccount.getAmountOfMoney()) {
+            long convertSum = currencyConverter
+                    .convert(sumOfMoney, senderAccount.getCurrency(), recipientAccount.getCurrency());
+
+            long sumWithCommission;
+
+            if (senderAccount.getBankProducer().getId().equals(recipientAccount.getBankProducer().getId())) {
+                sumWithCommission = sumOfMoney;
+            } else {
+                sumWithCommission = sumOfMoney
+                        + Money.applyRatio(sumOfMoney, commissionService
+                        .findCommissionByClientTypeAndBankId(senderAccount.getOwner().getType().ordinal(),
+                                senderAccount.getBankProducer().getId()));
+            }
+
+            apply(senderAccount, recipientAccount, sumOfMoney, sumWithCommission, convertSum, date);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Carries out a transfer priced by the caller, returns false when the sender
+     * has not enough money. Throws {@link AccountNotFoundException} when one of
+     * the accounts no longer exists.
+     */
+    public boolean transfer(Integer senderAccountNumber, Integer receiverAccountNumber, long sumOfMoney,
+                            long sumWithCommission, long convertSum) {
+
+        BankAccount senderAccount = bankAccountService.findBankAccountByNumber(senderAccountNumber);
+        BankAccount recipientAccount = bankAccountService.findBankAccountByNumber(receiverAccountNumber);
+        if (senderAccount == null || recipientAccount == null) {
+            throw new AccountNotFoundException("Bank account is not found");
+        }
+
+        if (sumOfMoney > senderAccount.getAmountOfMoney()) {
+            return false;
+        }
+        apply(senderAccount, recipientAccount, sumOfMoney, sumWithCommission, convertSum,
+                new Date(System.currentTimeMillis()));
+        return true;
+    }
+
+    private void apply(BankAccount senderAccount, BankAccount recipientAccount, long sumOfMoney,
+                       long sumWithCommission, long convertSum, Date date) {
+
+        senderAccount.setAmountOfMoney(senderAccount.getAmountOfMoney() - sumWithCommission);
+        recipientAccount.setAmountOfMoney(recipientAccount.getAmountOfMoney() + convertSum);
+
+        bankAccountService.save(senderAccount);
+        bankAccountService.save(recipientAccount);
+
+        Transaction transaction = new Transaction();
+        transaction.setDate(date);
+        transaction.setAmountOfMoney(sumOfMoney);
+        transaction.setSenderAccount(senderAccount);
+        transaction.setReceiverAccount(recipientAccount);
+        transaction.setSender(senderAccount.getOwner());
+        transaction.setReceiver(recipientAccount.getOwner());
+        transactionRepository.save(transaction);
+
+        log.info("Transaction from " + senderAccount.getOwner() + " to " + recipientAccount.getOwner() + "was carried successfully.");
+    }
+}
@@ -0,0 +1,2 @@
+ALTER TABLE bankAccounts
+    ADD COLUMN version bigint not null default 0;
@@ -0,0 +1,9 @@
+ALTER SEQUENCE banks_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE clients_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE bankaccounts_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE commissionforclients_id_seq INCREMENT BY 50;
@@ -0,0 +1,17 @@
+UPDATE bankAccounts
+SET amountOfMoney = 0
+WHERE amountOfMoney IS NULL;
+
+ALTER TABLE bankAccounts
+    ALTER COLUMN amountOfMoney TYPE bigint USING round(amountOfMoney * 100),
+    ALTER COLUMN amountOfMoney SET DEFAULT 0,
+    ALTER COLUMN amountOfMoney SET NOT NULL;
+
+ALTER TABLE transactions
+    ALTER COLUMN amountOfMoney TYPE bigint USING round(amountOfMoney * 100);
+
+ALTER TABLE commissionForClients
+    ALTER COLUMN commission TYPE bigint USING round(commission * 1000000);
+
+ALTER TABLE exchangeRates
+    ALTER COLUMN rate TYPE bigint USING round(rate * 1000000);
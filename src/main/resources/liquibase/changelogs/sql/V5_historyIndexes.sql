@@ -0,0 +1,13 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transactions_sender_date_idx
+    ON transactions (senderId, date, id)
+    INCLUDE (receiverId, amountOfMoney, senderAccountId, receiverAccountId);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transactions_receiver_date_idx
+    ON transactions (receiverId, date, id)
+    INCLUDE (senderId, amountOfMoney, senderAccountId, receiverAccountId);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bankAccounts_client_idx
+    ON bankAccounts (clientId);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bankAccounts_bank_idx
+    ON bankAccounts (bankId);
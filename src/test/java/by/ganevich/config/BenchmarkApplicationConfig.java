@@ -0,0 +1,154 @@
+package by.ganevich.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The services, repositories and components of the application over an
+ * embedded H2 database in PostgreSQL mode, without the web, console and
+ * security layers, for benchmarks that drive whole service calls. The schema
+ * is created from the entities, the other settings come from
+ * application.properties. {@link #start(Map)} takes the settings:
+ * <ul>
+ *     <li>{@code benchmark.jdbc.url}, {@code .user}, {@code .password}: another database,</li>
+ *     <li>{@code benchmark.pooled}: HikariCP as in {@link DatabaseConfig}, or a new
+ *     connection per transaction as the former DriverManagerDataSource,</li>
+ *     <li>{@code benchmark.mapping-resources}: mapping files added to the entities,</li>
+ *     <li>{@code hibernate.jdbc.batch_size}, {@code hibernate.order_inserts},
+ *     {@code hibernate.order_updates} and the {@code datasource.pool.*} sizes
+ *     of application.properties.</li>
+ * </ul>
+ * Every physical connection is counted by {@link CountingDataSource}.
+ */
+@Configuration
+@ComponentScan(basePackages = "by.ganevich", excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX,
+        pattern = {"by\\.ganevich\\.Application", "by\\.ganevich\\.(config|controller|io)\\..*",
+                "by\\.ganevich\\.service\\.UserService"}))
+@EnableJpaRepositories(basePackages = "by.ganevich.repository")
+@PropertySource("classpath:application.properties")
+@EnableTransactionManagement(proxyTargetClass = true)
+public class BenchmarkApplicationConfig {
+
+    public static AnnotationConfigApplicationContext start(Map<String, Object> properties) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.register(BenchmarkApplicationConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    @Bean
+    public CountingDataSource physicalDataSource(Environment environment) {
+        CountingDataSource dataSource = new CountingDataSource();
+        dataSource.setUrl(environment.getProperty("benchmark.jdbc.url",
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+        dataSource.setUsername(environment.getProperty("benchmark.jdbc.user", ""));
+        dataSource.setPassword(environment.getProperty("benchmark.jdbc.password", ""));
+        return dataSource;
+    }
+
+    @Bean
+    public PoolMetrics poolMetrics() {
+        return new PoolMetrics();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(CountingDataSource physicalDataSource, Environment environment) {
+        if (!environment.getProperty("benchmark.pooled", Boolean.class, true)) {
+            return physicalDataSource;
+        }
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("benchmark-pool");
+        config.setDataSource(physicalDataSource);
+        config.setMaximumPoolSize(environment.getProperty("datasource.pool.maximum-size", Integer.class, 20));
+        config.setMinimumIdle(environment.getProperty("datasource.pool.minimum-idle", Integer.class, 5));
+        config.setConnectionTimeout(environment.getProperty("datasource.pool.connection-timeout-ms",
+                Long.class, 3000L));
+        config.setMetricsTrackerFactory(poolMetrics());
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+                                                                       Environment environment) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setPackagesToScan("by.ganevich.entity");
+        factoryBean.setMappingResources(StringUtils.tokenizeToStringArray("projections.hbm.xml,"
+                + environment.getProperty("benchmark.mapping-resources", ""), ","));
+        factoryBean.setPersistenceProviderClass(HibernatePersistenceProvider.class);
+        factoryBean.setDataSource(dataSource);
+        Properties properties = new Properties();
+        properties.put(AvailableSettings.HBM2DDL_AUTO, environment.getProperty("benchmark.hbm2ddl", "create-drop"));
+        properties.put(AvailableSettings.STATEMENT_BATCH_SIZE,
+                environment.getProperty("hibernate.jdbc.batch_size", "50"));
+        properties.put(AvailableSettings.ORDER_INSERTS, environment.getProperty("hibernate.order_inserts", "true"));
+        properties.put(AvailableSettings.ORDER_UPDATES, environment.getProperty("hibernate.order_updates", "true"));
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+        properties.put(AvailableSettings.USE_QUERY_CACHE, "false");
+        factoryBean.setJpaProperties(properties);
+        return factoryBean;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Opens a physical connection for every request and counts them.
+     */
+    public static class CountingDataSource extends DriverManagerDataSource {
+
+        private final LongAdder opened = new LongAdder();
+
+        public long getOpened() {
+            return opened.sum();
+        }
+
+        @Override
+        protected Connection getConnectionFromDriver(Properties properties) throws SQLException {
+            opened.increment();
+            return super.getConnectionFromDriver(properties);
+        }
+    }
+}
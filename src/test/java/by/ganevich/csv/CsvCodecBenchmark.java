@@ -0,0 +1,168 @@
+package by.ganevich.csv;
+
+import au.com.bytecode.opencsv.CSVReader;
+import au.com.bytecode.opencsv.CSVWriter;
+import au.com.bytecode.opencsv.bean.ColumnPositionMappingStrategy;
+import au.com.bytecode.opencsv.bean.CsvToBean;
+import au.com.bytecode.opencsv.bean.MappingStrategy;
+import by.ganevich.csv.csvMapper.CsvRecordReader;
+import by.ganevich.csv.csvMapper.CsvTransactionCsvMapper;
+import by.ganevich.csv.csvMapper.ImportRow;
+import by.ganevich.entity.Client;
+import by.ganevich.entity.Transaction;
+import by.ganevich.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes the same transaction rows with the csv codec and with the
+ * opencsv bean binding and string rows it replaced. Not run by the build;
+ * start {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvCodecBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final CsvTransactionCsvMapper mapper = new CsvTransactionCsvMapper();
+
+    private String csv;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder();
+        transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long amount = 100L * i + i % 100;
+            Date date = Date.valueOf("2021-01-01");
+            text.append(i % 500).append(',').append((i + 1) % 500).append(',').append(Money.format(amount))
+                    .append(',').append(i % 1000).append(',').append((i + 7) % 1000).append(',').append(date)
+                    .append('\n');
+
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setSender(client(i % 500));
+            transaction.setReceiver(client((i + 1) % 500));
+            transaction.setAmountOfMoney(amount);
+            transaction.setDate(date);
+            transactions.add(transaction);
+        }
+        csv = text.toString();
+    }
+
+    @Benchmark
+    public void readCodec(Blackhole blackhole) throws IOException {
+        try (CsvRecordReader<Transaction> reader = mapper.reader(new StringReader(csv))) {
+            for (ImportRow<Transaction> row = reader.read(); row != null; row = reader.read()) {
+                blackhole.consume(row);
+            }
+        }
+    }
+
+    @Benchmark
+    public void readOpencsv(Blackhole blackhole) throws Exception {
+        ColumnPositionMappingStrategy<Transaction> strategy = new ColumnPositionMappingStrategy<>();
+        strategy.setType(Transaction.class);
+        strategy.setColumnMapping(new String[]{
+                "senderId", "receiverId", "amountOfMoney", "senderAccountId", "receiverAccountId", "date"});
+        OpencsvBinding binding = new OpencsvBinding();
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            for (String[] line = reader.readNext(); line != null; line = reader.readNext()) {
+                Long[] references = new Long[4];
+                references[0] = Long.valueOf(line[0].trim());
+                references[1] = Long.valueOf(line[1].trim());
+                references[2] = Long.valueOf(line[3].trim());
+                references[3] = Long.valueOf(line[4].trim());
+                blackhole.consume(binding.toBean(strategy, line));
+                blackhole.consume(references);
+            }
+        }
+    }
+
+    @Benchmark
+    public String writeCodec() throws IOException {
+        StringWriter out = new StringWriter(csv.length());
+        try (CsvWriter writer = new CsvWriter(out)) {
+            for (Transaction transaction : transactions) {
+                mapper.toCsv(writer, transaction);
+            }
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public String writeOpencsv() throws IOException {
+        StringWriter out = new StringWriter(csv.length());
+        try (CSVWriter writer = new CSVWriter(out)) {
+            for (Transaction transaction : transactions) {
+                String row = transaction.getId().toString() + ","
+                        + transaction.getSender().getId().toString() + ","
+                        + transaction.getReceiver().getId().toString() + ","
+                        + Money.format(transaction.getAmountOfMoney()) + ","
+                        + transaction.getDate().toString() + ",";
+                writer.writeNext(row.split(","));
+            }
+        }
+        return out.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CsvCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static Client client(long id) {
+        Client client = new Client();
+        client.setId(id);
+        return client;
+    }
+
+    /**
+     * The reflective binding of the former mappers, with their money
+     * conversion and a date conversion they lacked.
+     */
+    private static final class OpencsvBinding extends CsvToBean<Transaction> {
+
+        Transaction toBean(MappingStrategy<Transaction> strategy, String[] line) throws Exception {
+            return processLine(strategy, line);
+        }
+
+        @Override
+        protected Object convertValue(String value, PropertyDescriptor prop)
+                throws InstantiationException, IllegalAccessException {
+            if (prop.getPropertyType() == long.class && "amountOfMoney".equals(prop.getName())) {
+                return Money.parse(value);
+            }
+            if (prop.getPropertyType() == Date.class) {
+                return Date.valueOf(value.trim());
+            }
+            return super.convertValue(value, prop);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package by.ganevich.csv;
+
+import by.ganevich.entity.Currency;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainFields() throws IOException {
+        assertEquals(Arrays.asList(Arrays.asList("1", "Alfa", "USD"), Arrays.asList("2", "Beta", "EUR")),
+                read("1,Alfa,USD\n2,Beta,EUR\n"));
+    }
+
+    @Test
+    void keepsSeparatorsAndLineEndsInsideQuotes() throws IOException {
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b,c", "line\r\nbreak")),
+                read("a,\"b,c\",\"line\r\nbreak\"\n"));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        assertEquals(Collections.singletonList(Arrays.asList("say \"hi\"", "\"", "x")),
+                read("\"say \"\"hi\"\"\",\"\"\"\",x\n"));
+    }
+
+    @Test
+    void readsCrLfAndLastLineWithoutLineEnd() throws IOException {
+        CsvReader reader = reader("a,b\r\nc,d\r\ne,f");
+
+        assertTrue(reader.next());
+        assertEquals(1, reader.getLineNumber());
+        assertEquals("b", reader.getString(1));
+        assertTrue(reader.next());
+        assertEquals(2, reader.getLineNumber());
+        assertEquals("c", reader.getString(0));
+        assertTrue(reader.next());
+        assertEquals("f", reader.getString(1));
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b")),
+                read("\n\na\r\n\r\n\nb\n\n"));
+    }
+
+    @Test
+    void keepsEmptyAndTrailingFields() throws IOException {
+        CsvReader reader = reader("a,,\"\",d,\n,\n");
+
+        assertTrue(reader.next());
+        assertEquals(5, reader.getFieldCount());
+        assertFalse(reader.isEmpty(0));
+        assertTrue(reader.isEmpty(1));
+        assertTrue(reader.isEmpty(2));
+        assertEquals("", reader.getString(2));
+        assertTrue(reader.isEmpty(4));
+        assertTrue(reader.isEmpty(5));
+        assertTrue(reader.next());
+        assertEquals(2, reader.getFieldCount());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void readsLinesLongerThanTheBuffer() throws IOException {
+        char[] chars = new char[200_000];
+        Arrays.fill(chars, 'x');
+        String longField = new String(chars);
+
+        assertEquals(Arrays.asList(Arrays.asList("1", longField), Arrays.asList("2", "\"" + longField)),
+                read("1," + longField + "\n2,\"\"\"" + longField + "\"\n"));
+    }
+
+    @Test
+    void parsesNumbersInPlace() throws IOException {
+        CsvReader reader = reader(" 42 ,-7,+3,-9223372036854775808,9223372036854775808,12a,\n");
+
+        assertTrue(reader.next());
+        assertEquals(42, reader.getLong(0));
+        assertEquals(-7, reader.getInt(1));
+        assertEquals(3, reader.getLong(2));
+        assertEquals(Long.MIN_VALUE, reader.getLong(3));
+        assertThrows(ArithmeticException.class, () -> reader.getLong(4));
+        assertThrows(NumberFormatException.class, () -> reader.getLong(5));
+        assertThrows(NumberFormatException.class, () -> reader.getLong(6));
+        assertThrows(IllegalArgumentException.class, () -> reader.getLong(7));
+    }
+
+    @Test
+    void returnsNullIdForMissingOrInvalidNumbers() throws IOException {
+        CsvReader reader = reader("5,,x,99999999999999999999\n");
+
+        assertTrue(reader.next());
+        assertEquals(5L, reader.getId(0));
+        assertNull(reader.getId(1));
+        assertNull(reader.getId(2));
+        assertNull(reader.getId(3));
+        assertNull(reader.getId(4));
+    }
+
+    @Test
+    void parsesMoneyEnumsAndDates() throws IOException {
+        CsvReader reader = reader("\"-12.5\", EUR ,2021-03-04,usd,2021-3-4\n");
+
+        assertTrue(reader.next());
+        assertEquals(-1250, reader.getMoney(0));
+        assertEquals(Currency.EUR, reader.getEnum(1, Currency.values()));
+        assertEquals(Date.valueOf("2021-03-04"), reader.getDate(2));
+        assertThrows(NumberFormatException.class, () -> reader.getEnum(3, Currency.values()));
+        assertThrows(NumberFormatException.class, () -> reader.getDate(4));
+    }
+
+    private static CsvReader reader(String text) {
+        return new CsvReader(new StringReader(text));
+    }
+
+    private static List<List<String>> read(String text) throws IOException {
+        List<List<String>> lines = new ArrayList<>();
+        try (CsvReader reader = reader(text)) {
+            while (reader.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int field = 0; field < reader.getFieldCount(); field++) {
+                    fields.add(reader.getString(field));
+                }
+                lines.add(fields);
+            }
+        }
+        return lines;
+    }
+}
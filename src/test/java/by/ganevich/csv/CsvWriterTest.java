@@ -0,0 +1,80 @@
+package by.ganevich.csv;
+
+import by.ganevich.entity.Currency;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.Date;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvWriterTest {
+
+    @Test
+    void quotesOnlyFieldsThatNeedIt() throws IOException {
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\r\nlines\",\"\"\n",
+                write(writer -> writer.field("plain").field("a,b").field("say \"hi\"").field("two\r\nlines")
+                        .field("")));
+    }
+
+    @Test
+    void writesEmptyAndTrailingFields() throws IOException {
+        assertEquals("a,,c,\n,\n", write(writer -> {
+            writer.field("a").empty().field("c").empty();
+            writer.endLine();
+            writer.empty().empty();
+        }));
+    }
+
+    @Test
+    void formatsNumbersMoneyEnumsAndDates() throws IOException {
+        assertEquals("0,-42,-9223372036854775808,9223372036854775807,-0.05,1234.50,EUR,2021-03-04\n",
+                write(writer -> writer.field(0).field(-42).field(Long.MIN_VALUE).field(Long.MAX_VALUE)
+                        .money(-5).money(123450).field(Currency.EUR).date(Date.valueOf("2021-03-04"))));
+    }
+
+    @Test
+    void writesFieldsLongerThanTheBuffer() throws IOException {
+        char[] chars = new char[20_000];
+        Arrays.fill(chars, 'x');
+        String longField = new String(chars);
+
+        assertEquals("1," + longField + ",\"" + longField + ",\"\n",
+                write(writer -> writer.field(1).field(longField).field(longField + ",")));
+    }
+
+    @Test
+    void readsBackWhatItWrites() throws IOException {
+        String text = write(writer -> writer.field("a \"quoted\", field").empty().money(-1250)
+                .field(Long.MIN_VALUE).date(Date.valueOf("1999-12-31")));
+
+        try (CsvReader reader = new CsvReader(new StringReader(text))) {
+            assertTrue(reader.next());
+            assertEquals(5, reader.getFieldCount());
+            assertEquals("a \"quoted\", field", reader.getString(0));
+            assertTrue(reader.isEmpty(1));
+            assertEquals(-1250, reader.getMoney(2));
+            assertEquals(Long.MIN_VALUE, reader.getLong(3));
+            assertEquals(Date.valueOf("1999-12-31"), reader.getDate(4));
+            assertFalse(reader.next());
+        }
+    }
+
+    private static String write(Line line) throws IOException {
+        StringWriter out = new StringWriter();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            line.write(writer);
+            writer.endLine();
+        }
+        return out.toString();
+    }
+
+    private interface Line {
+        void write(CsvWriter writer) throws IOException;
+    }
+}
@@ -0,0 +1,144 @@
+package by.ganevich.csv.archiver;
+
+import by.ganevich.csv.csvMapper.CsvRecordReader;
+import by.ganevich.csv.csvMapper.CsvTransactionCsvMapper;
+import by.ganevich.csv.csvMapper.ImportRow;
+import by.ganevich.entity.Transaction;
+import by.ganevich.job.JobProgress;
+import by.ganevich.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Reads the csv records of a generated archive with a multi-hundred-MB
+ * transaction entry straight from {@link Archiver#unpack}. The fork runs with
+ * a heap smaller than the entry, so the run only passes if nothing is
+ * extracted or buffered whole; the peak heap of every iteration is printed.
+ * Not run by the build; start {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class ArchiveImportBenchmark {
+
+    private static final String ENTRY = "transactions.csv";
+
+    @Param("400")
+    private int entryMegabytes;
+
+    private final Archiver archiver = new Archiver();
+    private final CsvTransactionCsvMapper mapper = new CsvTransactionCsvMapper();
+
+    private Path archive;
+    private long rows;
+    private long entrySize;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        archive = Files.createTempFile("import-", ".zip");
+        long limit = (long) entryMegabytes << 20;
+        try (ZipOutputStream zout = new ZipOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(archive), 1 << 16))) {
+            zout.putNextEntry(new ZipEntry(ENTRY));
+            Writer out = new OutputStreamWriter(zout, StandardCharsets.UTF_8);
+            StringBuilder line = new StringBuilder();
+            for (long i = 0; entrySize < limit; i++) {
+                line.setLength(0);
+                line.append(i % 500).append(',').append((i + 1) % 500).append(',')
+                        .append(Money.format(100L * i + i % 100)).append(',').append(i % 1000).append(',')
+                        .append((i + 7) % 1000).append(",2021-01-01\n");
+                out.append(line);
+                entrySize += line.length();
+                rows++;
+            }
+            out.flush();
+            zout.closeEntry();
+        }
+        System.out.println();
+        System.out.println("Archive of " + (Files.size(archive) >> 20) + " MB, entry of "
+                + (entrySize >> 20) + " MB with " + rows + " rows");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.println();
+        System.out.println("Peak heap " + (peak >> 20) + " MB of " + (Runtime.getRuntime().maxMemory() >> 20) + " MB");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(archive);
+    }
+
+    @Benchmark
+    public long unpackAndRead(Blackhole blackhole) throws IOException {
+        long[] read = new long[1];
+        archiver.unpack(archive, Collections.singletonList(ENTRY), new JobProgress(JobProgress.Unit.BYTES),
+                (entry, in) -> {
+                    try (CsvRecordReader<Transaction> reader = mapper.reader(
+                            new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16))) {
+                        for (ImportRow<Transaction> row = reader.read(); row != null; row = reader.read()) {
+                            blackhole.consume(row);
+                            read[0]++;
+                        }
+                    }
+                });
+        if (read[0] != rows) {
+            throw new IllegalStateException(read[0] + " rows are read instead of " + rows);
+        }
+        return read[0];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ArchiveImportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
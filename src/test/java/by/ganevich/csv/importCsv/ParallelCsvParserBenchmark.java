@@ -0,0 +1,105 @@
+package by.ganevich.csv.importCsv;
+
+import by.ganevich.csv.csvMapper.CsvTransactionCsvMapper;
+import by.ganevich.csv.csvMapper.ImportRow;
+import by.ganevich.csv.csvMapper.ImportRowReader;
+import by.ganevich.entity.Transaction;
+import by.ganevich.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a generated transaction csv file with {@link ParallelCsvParser} on
+ * a growing number of {@code import.parallel.threads}, 0 meaning one thread
+ * per core as in the application. Not run by the build; start
+ * {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelCsvParserBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    @Param({"1", "2", "4", "0"})
+    private int threads;
+
+    private final CsvTransactionCsvMapper mapper = new CsvTransactionCsvMapper();
+
+    private ParallelCsvParser parser;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("transactions-", ".csv");
+        Date date = Date.valueOf("2021-01-01");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < ROWS; i++) {
+                out.append(String.valueOf(i % 500)).append(',').append(String.valueOf((i + 1) % 500)).append(',')
+                        .append(Money.format(100L * i + i % 100)).append(',').append(String.valueOf(i % 1000))
+                        .append(',').append(String.valueOf((i + 7) % 1000)).append(',').append(date.toString())
+                        .append('\n');
+            }
+        }
+
+        parser = new ParallelCsvParser();
+        ReflectionTestUtils.setField(parser, "threads", threads);
+        ReflectionTestUtils.setField(parser, "blockSize", 1 << 20);
+        ReflectionTestUtils.setField(parser, "queueBlocks", 8);
+        parser.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        parser.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long parse(Blackhole blackhole) throws IOException {
+        long rows = 0;
+        try (InputStream in = Files.newInputStream(file);
+             ImportRowReader<Transaction> reader = parser.reader(in, mapper)) {
+            for (ImportRow<Transaction> row = reader.read(); row != null; row = reader.read()) {
+                blackhole.consume(row);
+                rows++;
+            }
+        }
+        if (rows != ROWS) {
+            throw new IllegalStateException(rows + " rows are parsed instead of " + ROWS);
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParallelCsvParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
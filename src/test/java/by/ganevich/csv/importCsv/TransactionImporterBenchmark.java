@@ -0,0 +1,157 @@
+package by.ganevich.csv.importCsv;
+
+import by.ganevich.config.BenchmarkApplicationConfig;
+import by.ganevich.entity.Bank;
+import by.ganevich.entity.BankAccount;
+import by.ganevich.entity.Client;
+import by.ganevich.entity.ClientType;
+import by.ganevich.entity.Currency;
+import by.ganevich.job.JobProgress;
+import by.ganevich.money.Money;
+import by.ganevich.repository.BankAccountRepository;
+import by.ganevich.repository.BankRepository;
+import by.ganevich.repository.ClientRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a generated transaction csv file with {@link TransactionImporter}
+ * and reports the inserted rows per second:
+ * <ul>
+ *     <li>{@code identity}: the transaction ids generated by IDENTITY columns and
+ *     no JDBC batching, as before the pooled sequences,</li>
+ *     <li>{@code sequence}: the pooled sequence and the batching settings of
+ *     application.properties.</li>
+ * </ul>
+ * Runs on {@link BenchmarkApplicationConfig}, so on embedded H2 unless
+ * {@code benchmark.jdbc.url} points at a PostgreSQL scratch database. Not run
+ * by the build; start {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionImporterBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int CLIENTS = 100;
+
+    @Param({"identity", "sequence"})
+    private String ids;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionImporter importer;
+    private JdbcTemplate jdbcTemplate;
+    private Path checkpoints;
+    private byte[] csv;
+    private int run;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        checkpoints = Files.createTempDirectory("import-checkpoints-");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("import.checkpoint.directory", checkpoints.toString());
+        if (ids.equals("identity")) {
+            properties.put("benchmark.mapping-resources", "identity-ids.orm.xml");
+            properties.put("hibernate.jdbc.batch_size", "0");
+            properties.put("hibernate.order_inserts", "false");
+            properties.put("hibernate.order_updates", "false");
+        }
+        context = BenchmarkApplicationConfig.start(properties);
+        importer = context.getBean(TransactionImporter.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<BankAccount> accounts = context.getBean(TransactionTemplate.class).execute(status -> seed());
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            BankAccount sender = accounts.get(i % accounts.size());
+            BankAccount receiver = accounts.get((i + 1) % accounts.size());
+            out.append(sender.getOwner().getId()).append(',').append(receiver.getOwner().getId()).append(',')
+                    .append(Money.format(100L + i)).append(',').append(sender.getId()).append(',')
+                    .append(receiver.getId()).append(",2021-01-01\n");
+        }
+        csv = out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void deleteTransactions() {
+        jdbcTemplate.update("delete from transactions");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(checkpoints);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long importTransactions() throws IOException {
+        long imported = importer.importCsv(new ByteArrayInputStream(csv), "benchmark-" + run++,
+                new JobProgress(JobProgress.Unit.ROWS));
+        if (imported != ROWS) {
+            throw new IllegalStateException(imported + " rows are imported instead of " + ROWS);
+        }
+        return imported;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TransactionImporterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private List<BankAccount> seed() {
+        Bank bank = new Bank();
+        bank.setName("Benchmark bank");
+        context.getBean(BankRepository.class).save(bank);
+
+        List<BankAccount> accounts = new ArrayList<>(CLIENTS * 2);
+        for (int i = 0; i < CLIENTS; i++) {
+            Client client = new Client();
+            client.setName("Client " + i);
+            client.setType(ClientType.INDIVIDUAL);
+            context.getBean(ClientRepository.class).save(client);
+            for (Currency currency : new Currency[] {Currency.USD, Currency.EUR}) {
+                BankAccount account = new BankAccount();
+                account.setNumber(accounts.size() + 1);
+                account.setCurrency(currency);
+                account.setAmountOfMoney(Money.parse("1000000.00"));
+                account.setOwner(client);
+                account.setBankProducer(bank);
+                accounts.add(context.getBean(BankAccountRepository.class).save(account));
+            }
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,45 @@
+package by.ganevich.dto;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConductTransactionDtoTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.01", "0.1", "12.5", "12.50", "1000.00"})
+    void acceptsPositiveAmountsInMinorUnits(String amount) {
+        assertEquals(0, validator.validate(transfer(amount)).size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.0", "0.00", "00.00", "-1.00", "0.001", "10.005", "12", "(12.50)", "1e2"})
+    void rejectsNonPositiveAndSubMinorUnitAmounts(String amount) {
+        assertEquals(1, validator.validate(transfer(amount)).size());
+    }
+
+    private static ConductTransactionDto transfer(String amount) {
+        return new ConductTransactionDto("10001", "10002", amount);
+    }
+}
@@ -0,0 +1,45 @@
+package by.ganevich.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JournalSegmentTest {
+
+    private static final long FIRST_SEQUENCE = 1_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesAndReadsRecordsOfTheSegment() throws IOException {
+        JournalSegment segment = new JournalSegment(directory.resolve("segment"), FIRST_SEQUENCE, 4);
+
+        segment.write(new JournaledTransfer(segment.getLastSequence(), 1, 2, 1250, 7));
+        JournaledTransfer read = segment.read(segment.getLastSequence());
+
+        assertEquals(segment.getLastSequence(), read.getSequence());
+        assertEquals(1, read.getSenderAccountNumber());
+        assertEquals(2, read.getReceiverAccountNumber());
+        assertEquals(1250, read.getAmountOfMoney());
+        assertEquals(7, read.getDate());
+        assertNull(segment.read(FIRST_SEQUENCE));
+    }
+
+    @Test
+    void rejectsSequencesOutsideOfTheSegment() throws IOException {
+        JournalSegment segment = new JournalSegment(directory.resolve("segment"), FIRST_SEQUENCE, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> segment.read(FIRST_SEQUENCE - 1));
+        assertThrows(IllegalArgumentException.class, () -> segment.read(FIRST_SEQUENCE + 4));
+        assertThrows(IllegalArgumentException.class, () -> segment.read(FIRST_SEQUENCE + (1L << 31)));
+        assertThrows(IllegalArgumentException.class,
+                () -> segment.write(new JournaledTransfer(FIRST_SEQUENCE + (1L << 32) + 1, 1, 2, 1250, 7)));
+    }
+}
@@ -0,0 +1,86 @@
+package by.ganevich.money;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance arithmetic of one transfer between banks with a currency
+ * conversion and a commission, on the boxed {@code Double} amounts the
+ * accounts used to hold and on {@code long} minor units. Not run by the
+ * build; start {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    private final Double[] doubleBalances = new Double[ACCOUNTS];
+    private final long[] longBalances = new long[ACCOUNTS];
+    private final double crossRate = 2.5;
+    private final Double doubleCommission = 0.015;
+    private final long ratioCommission = Money.parseRatio("0.015");
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            doubleBalances[i] = 1_000_000.0 + i;
+            longBalances[i] = 100_000_000L + i;
+        }
+    }
+
+    @Benchmark
+    public Double sendMoneyDouble() {
+        int sender = next++ & (ACCOUNTS - 1);
+        int recipient = (sender + 1) & (ACCOUNTS - 1);
+        Double sumOfMoney = 12.34;
+
+        Double senderSum = doubleBalances[sender];
+        Double recipientSum = doubleBalances[recipient];
+        if (sumOfMoney <= senderSum) {
+            Double convertSum = sumOfMoney * crossRate;
+            Double sumWithCommission = sumOfMoney + sumOfMoney * doubleCommission;
+            doubleBalances[sender] = senderSum - sumWithCommission;
+            doubleBalances[recipient] = recipientSum + convertSum;
+        }
+        return doubleBalances[sender];
+    }
+
+    @Benchmark
+    public long sendMoneyMinorUnits() {
+        int sender = next++ & (ACCOUNTS - 1);
+        int recipient = (sender + 1) & (ACCOUNTS - 1);
+        long sumOfMoney = 1234;
+
+        if (sumOfMoney <= longBalances[sender]) {
+            long convertSum = Money.applyRate(sumOfMoney, crossRate);
+            long sumWithCommission = sumOfMoney + Money.applyRatio(sumOfMoney, ratioCommission);
+            longBalances[sender] -= sumWithCommission;
+            longBalances[recipient] += convertSum;
+        }
+        return longBalances[sender];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyArithmeticBenchmark.class.getSimpleName()).build()).run();
+    }
+}
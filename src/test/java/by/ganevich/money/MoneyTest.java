@@ -0,0 +1,90 @@
+package by.ganevich.money;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "0|0",
+            "12|1200",
+            "12.5|1250",
+            "12.50|1250",
+            "+12.05|1205",
+            "-12.05|-1205",
+            "-0.5|-50",
+            ".5|50",
+            "5.|500",
+            "'  7.25  '|725",
+            "12.500|1250",
+            "-0.010|-1",
+            "1e2|10000",
+            "92233720368547758.07|9223372036854775807",
+            "-92233720368547758.08|-9223372036854775808"
+    })
+    void parsesCharsLikeTheStringParser(String amount, long minorUnits) {
+        assertEquals(minorUnits, parseChars(amount));
+        assertEquals(minorUnits, Money.parse(amount));
+    }
+
+    @Test
+    void parsesOnlyTheGivenRange() {
+        char[] chars = "x,-3.10,y".toCharArray();
+
+        assertEquals(-310, Money.parse(chars, 2, 5));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"92233720368547758.08", "-92233720368547758.09", "100000000000000000000"})
+    void rejectsOverflowingAmounts(String amount) {
+        assertThrows(ArithmeticException.class, () -> parseChars(amount));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.001", "10.005", "-1.015", "0.0001", "1e-3"})
+    void rejectsAmountsBelowTheMinorUnit(String amount) {
+        assertThrows(ArithmeticException.class, () -> parseChars(amount));
+        assertThrows(ArithmeticException.class, () -> Money.parse(amount));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "-", ".", "1,5", "1.2.3", "abc"})
+    void rejectsMalformedAmounts(String amount) {
+        assertThrows(NumberFormatException.class, () -> parseChars(amount));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, -1, 5, -5, 99, 100, -100, 1250, -1250, 123456789, Long.MAX_VALUE, Long.MIN_VALUE})
+    void formatsCharsLikeTheStringFormatter(long minorUnits) {
+        char[] chars = new char[24];
+
+        int length = Money.format(minorUnits, chars);
+
+        assertEquals(Money.format(minorUnits), new String(chars, 0, length));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0.00", "-5,-0.05", "-100,-1.00", "1250,12.50", "-9223372036854775808,-92233720368547758.08"})
+    void formatsTwoFractionDigits(long minorUnits, String amount) {
+        assertEquals(amount, Money.format(minorUnits));
+    }
+
+    @Test
+    void formatFitsTheDocumentedBufferSize() {
+        char[] chars = new char[22];
+
+        assertEquals(21, Money.format(Long.MIN_VALUE, chars));
+        assertEquals(20, Money.format(Long.MAX_VALUE, chars));
+    }
+
+    private static long parseChars(String amount) {
+        char[] chars = ("#" + amount + "#").toCharArray();
+        return Money.parse(chars, 1, amount.length());
+    }
+}
@@ -0,0 +1,203 @@
+package by.ganevich.repository;
+
+import by.ganevich.engine.AccountSnapshot;
+import by.ganevich.entity.Bank;
+import by.ganevich.entity.BankAccount;
+import by.ganevich.entity.Client;
+import by.ganevich.entity.ClientType;
+import by.ganevich.entity.Commission;
+import by.ganevich.entity.Currency;
+import by.ganevich.entity.Transaction;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Pins the number of SQL statements and loaded rows of the bank account fetch
+ * plans, so that a graph pulling in transactions again fails here.
+ */
+@SpringJUnitConfig(BankAccountFetchPlanTest.Config.class)
+@Transactional
+class BankAccountFetchPlanTest {
+
+    private static final int TRANSACTIONS = 10;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    private Statistics statistics;
+
+    private Client owner;
+
+    @BeforeEach
+    void setUp() {
+        Bank bank = new Bank();
+        bank.setName("bank");
+        bank.setCommissions(new HashSet<>());
+        for (int clientType = 0; clientType < 2; clientType++) {
+            Commission commission = new Commission();
+            commission.setBank(bank);
+            commission.setClientType(clientType);
+            commission.setCommission(100 * (clientType + 1));
+            bank.getCommissions().add(commission);
+        }
+        entityManager.persist(bank);
+
+        owner = new Client();
+        owner.setName("owner");
+        owner.setType(ClientType.INDIVIDUAL);
+        entityManager.persist(owner);
+
+        BankAccount first = account(1001, bank);
+        BankAccount second = account(1002, bank);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setSender(owner);
+            transaction.setReceiver(owner);
+            transaction.setSenderAccount(i % 2 == 0 ? first : second);
+            transaction.setReceiverAccount(i % 2 == 0 ? second : first);
+            transaction.setAmountOfMoney(100);
+            transaction.setDate(new Date(System.currentTimeMillis()));
+            entityManager.persist(transaction);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingByOwnerIdLoadsAccountsWithOwnerAndBankInOneStatement() {
+        List<BankAccount> accounts = bankAccountRepository.findBankAccountByOwnerId(owner.getId());
+
+        assertEquals(2, accounts.size());
+        for (BankAccount account : accounts) {
+            assertEquals(2, account.getBankProducer().getCommissions().size());
+            assertEquals("owner", account.getOwner().getName());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Transaction.class.getName()).getLoadCount());
+        assertEquals(2 + 1 + 1 + 2, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listingByOwnerLoadsAccountsWithOwnerAndBankInOneStatement() {
+        Client reference = entityManager.getReference(Client.class, owner.getId());
+        Set<BankAccount> accounts = bankAccountRepository.findBankAccountByOwner(reference);
+
+        assertEquals(2, accounts.size());
+        accounts.forEach(account -> assertEquals(2, account.getBankProducer().getCommissions().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Transaction.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void transferLookupLoadsOneAccountWithOwnerAndBank() {
+        BankAccount account = bankAccountRepository.findBankAccountByNumber(1001);
+
+        assertNotNull(account);
+        assertEquals("bank", account.getBankProducer().getName());
+        assertEquals("owner", account.getOwner().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1 + 1 + 1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    void snapshotLookupLoadsNoEntity() {
+        AccountSnapshot snapshot = bankAccountRepository.findSnapshotByNumber(1002);
+
+        assertEquals(1002, snapshot.getNumber());
+        assertEquals(ClientType.INDIVIDUAL, snapshot.getOwnerType());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void unknownNumberIsOneStatement() {
+        assertNull(bankAccountRepository.findSnapshotByNumber(-1));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private BankAccount account(int number, Bank bank) {
+        BankAccount account = new BankAccount();
+        account.setNumber(number);
+        account.setCurrency(Currency.BYN);
+        account.setAmountOfMoney(10_000);
+        account.setOwner(owner);
+        account.setBankProducer(bank);
+        entityManager.persist(account);
+        return account;
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackages = "by.ganevich.repository")
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean(destroyMethod = "shutdown")
+        public DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .build();
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+            factoryBean.setPackagesToScan("by.ganevich.entity");
+            factoryBean.setMappingResources("projections.hbm.xml");
+            factoryBean.setPersistenceProviderClass(HibernatePersistenceProvider.class);
+            factoryBean.setDataSource(dataSource);
+            Properties properties = new Properties();
+            properties.put(Environment.HBM2DDL_AUTO, "create-drop");
+            properties.put(Environment.USE_SECOND_LEVEL_CACHE, "false");
+            properties.put(Environment.USE_QUERY_CACHE, "false");
+            properties.put(Environment.GENERATE_STATISTICS, "true");
+            factoryBean.setJpaProperties(properties);
+            return factoryBean;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
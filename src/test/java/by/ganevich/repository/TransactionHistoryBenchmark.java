@@ -0,0 +1,160 @@
+package by.ganevich.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the history of a random client from a generated ledger of
+ * {@code rows} transactions, with and without the history indexes of
+ * V5_historyIndexes.sql:
+ * <ul>
+ *     <li>{@code unionAllPage} runs the query of {@link TransactionRepository#findHistoryPage},</li>
+ *     <li>{@code orPage} the same page as one OR query,</li>
+ *     <li>{@code derivedOr} the derived query of the former
+ *     findAllByDateBetweenAndSenderIdOrReceiverId, whose OR bound looser than the date range.</li>
+ * </ul>
+ * The ledger goes to a PostgreSQL scratch database given by the
+ * {@code benchmark.jdbc.url}, {@code benchmark.jdbc.user} and
+ * {@code benchmark.jdbc.password} system properties, or to an H2 file in
+ * PostgreSQL mode in the temp directory when no url is set; the H2 indexes go
+ * without INCLUDE columns. Not run by the build; start {@link #main(String[])}
+ * from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionHistoryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final String INDEXES = "liquibase/changelogs/sql/V5_historyIndexes.sql";
+
+    private static final String OR_PAGE = "select t.* from transactions t "
+            + "where (t.senderId = :clientId or t.receiverId = :clientId) "
+            + "and t.date <= :dateAfter and (t.date, t.id) > (:date, :id) "
+            + "order by t.date, t.id limit :limit";
+
+    private static final String DERIVED_OR = "select t.* from transactions t "
+            + "where t.date between :dateBefore and :dateAfter and t.senderId = :clientId or t.receiverId = :clientId";
+
+    @Param("10000000")
+    private long rows;
+
+    @Param({"false", "true"})
+    private boolean indexes;
+
+    private final Random random = new Random(7);
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private String unionAllPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException, NoSuchMethodException {
+        String url = System.getProperty("benchmark.jdbc.url", "jdbc:h2:file:"
+                + Paths.get(System.getProperty("java.io.tmpdir"), "transaction-history").toAbsolutePath()
+                + ";MODE=PostgreSQL");
+        dataSource = new SingleConnectionDataSource(url, System.getProperty("benchmark.jdbc.user", ""),
+                System.getProperty("benchmark.jdbc.password", ""), true);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        unionAllPage = TransactionRepository.class.getMethod("findHistoryPage",
+                Long.class, Date.class, Date.class, long.class, int.class).getAnnotation(Query.class).value();
+
+        Connection connection = dataSource.getConnection();
+        TransactionHistoryGenerator.generate(connection, rows);
+        boolean h2 = url.startsWith("jdbc:h2:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop index if exists transactions_sender_date_idx");
+            statement.execute("drop index if exists transactions_receiver_date_idx");
+            if (indexes) {
+                String script = StreamUtils.copyToString(new ClassPathResource(INDEXES).getInputStream(),
+                        StandardCharsets.UTF_8);
+                for (String ddl : script.split(";")) {
+                    if (!ddl.contains("ON transactions")) {
+                        continue;
+                    }
+                    if (h2) {
+                        ddl = ddl.replace("CONCURRENTLY ", "").replaceAll("INCLUDE \\([^)]*\\)", "");
+                    }
+                    statement.execute(ddl);
+                }
+            }
+            statement.execute(h2 ? "analyze" : "analyze transactions");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int unionAllPage() {
+        return jdbcTemplate.queryForList(unionAllPage, page()).size();
+    }
+
+    @Benchmark
+    public int orPage() {
+        return jdbcTemplate.queryForList(OR_PAGE, page()).size();
+    }
+
+    @Benchmark
+    public int derivedOr() {
+        return jdbcTemplate.queryForList(DERIVED_OR, new MapSqlParameterSource()
+                .addValue("clientId", client())
+                .addValue("dateBefore", TransactionHistoryGenerator.FIRST_DATE)
+                .addValue("dateAfter", TransactionHistoryGenerator.LAST_DATE)).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TransactionHistoryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The first page of the history of a random client over the whole ledger.
+     */
+    private MapSqlParameterSource page() {
+        return new MapSqlParameterSource()
+                .addValue("clientId", client())
+                .addValue("dateAfter", TransactionHistoryGenerator.LAST_DATE)
+                .addValue("date", TransactionHistoryGenerator.FIRST_DATE)
+                .addValue("id", 0L)
+                .addValue("limit", PAGE_SIZE + 1);
+    }
+
+    private long client() {
+        return random.nextInt(TransactionHistoryGenerator.CLIENTS) + 1;
+    }
+}
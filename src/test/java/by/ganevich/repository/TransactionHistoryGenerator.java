@@ -0,0 +1,111 @@
+package by.ganevich.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Random;
+
+/**
+ * Fills the {@code transactions} table of a scratch database with a ledger of
+ * generated transfers between {@link #CLIENTS} clients, dated evenly over three
+ * years in id order. The table is created without foreign keys and without the
+ * history indexes; a table that already holds the requested number of rows is
+ * kept, so repeated benchmark runs do not generate it again.
+ */
+@Slf4j
+public final class TransactionHistoryGenerator {
+
+    public static final int CLIENTS = 100_000;
+    public static final Timestamp FIRST_DATE = Timestamp.valueOf("2019-01-01 00:00:00");
+    public static final Timestamp LAST_DATE = Timestamp.valueOf("2022-01-01 00:00:00");
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private TransactionHistoryGenerator() {
+    }
+
+    public static void generate(Connection connection, long rows) throws SQLException {
+        if (countRows(connection) == rows) {
+            log.info("Table transactions already holds " + rows + " rows");
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists transactions");
+            statement.execute("create table transactions ("
+                    + "id bigint primary key, "
+                    + "senderId int not null, "
+                    + "receiverId int not null, "
+                    + "amountOfMoney bigint not null, "
+                    + "senderAccountId int not null, "
+                    + "receiverAccountId int not null, "
+                    + "date timestamp not null)");
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        Random random = new Random(42);
+        long span = LAST_DATE.getTime() - FIRST_DATE.getTime();
+        long started = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("insert into transactions "
+                + "(id, senderId, receiverId, amountOfMoney, senderAccountId, receiverAccountId, date) "
+                + "values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= rows; id++) {
+                int sender = random.nextInt(CLIENTS) + 1;
+                int receiver = (sender + random.nextInt(CLIENTS - 1)) % CLIENTS + 1;
+                insert.setLong(1, id);
+                insert.setInt(2, sender);
+                insert.setInt(3, receiver);
+                insert.setLong(4, 100 + random.nextInt(1_000_000));
+                insert.setInt(5, sender * 2);
+                insert.setInt(6, receiver * 2);
+                insert.setTimestamp(7, new Timestamp(FIRST_DATE.getTime() + span / rows * (id - 1)));
+                insert.addBatch();
+                if (id % BATCH_SIZE == 0 || id == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (id % 1_000_000 == 0) {
+                    log.info(id + " transactions are generated");
+                }
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        log.info(rows + " transactions are generated in "
+                + (System.nanoTime() - started) / 1_000_000_000 + " s");
+    }
+
+    /**
+     * Generates {@code args[1]} rows, 10M by default, into the database of the
+     * JDBC url {@code args[0]}; user and password are taken from
+     * {@code args[2]} and {@code args[3]}.
+     */
+    public static void main(String[] args) throws SQLException {
+        long rows = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+        try (Connection connection = DriverManager.getConnection(args[0],
+                args.length > 2 ? args[2] : null, args.length > 3 ? args[3] : null)) {
+            generate(connection, rows);
+        }
+    }
+
+    private static long countRows(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from transactions")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            return -1;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package by.ganevich.service;
+
+import by.ganevich.config.BenchmarkApplicationConfig;
+import by.ganevich.dto.BankDto;
+import by.ganevich.dto.ClientDto;
+import by.ganevich.entity.Bank;
+import by.ganevich.entity.BankAccount;
+import by.ganevich.entity.Client;
+import by.ganevich.entity.ClientType;
+import by.ganevich.entity.Commission;
+import by.ganevich.entity.Currency;
+import by.ganevich.mapper.interfaces.BankMapper;
+import by.ganevich.mapper.interfaces.ClientMapper;
+import by.ganevich.repository.BankAccountRepository;
+import by.ganevich.repository.BankRepository;
+import by.ganevich.repository.ClientRepository;
+import by.ganevich.repository.CommissionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the banks and clients of the index page the two ways the controllers
+ * did:
+ * <ul>
+ *     <li>{@code entities}: {@code readAll()} mapped with {@link BankMapper} and
+ *     {@link ClientMapper} in one transaction, as with open session in view,</li>
+ *     <li>{@code projections}: {@code readAllDtos()} as {@code BankController.startPage} now does.</li>
+ * </ul>
+ * {@link #main(String[])} adds the GC profiler, which reports the bytes
+ * allocated per page as {@code gc.alloc.rate.norm}. Runs on
+ * {@link BenchmarkApplicationConfig}. Not run by the build; start
+ * {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IndexPageBenchmark {
+
+    private static final int BANKS = 20;
+
+    @Param("5000")
+    private int clients;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private BankService bankService;
+    private ClientService clientService;
+    private BankMapper bankMapper;
+    private ClientMapper clientMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationConfig.start(Collections.emptyMap());
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        transactionTemplate.executeWithoutResult(status -> seed());
+        bankService = context.getBean(BankService.class);
+        clientService = context.getBean(ClientService.class);
+        bankMapper = context.getBean(BankMapper.class);
+        clientMapper = context.getBean(ClientMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entities(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            blackhole.consume(bankMapper.toDtoList(bankService.readAll()));
+            blackhole.consume(clientMapper.toDtoList(clientService.readAll()));
+        });
+    }
+
+    @Benchmark
+    public void projections(Blackhole blackhole) {
+        List<BankDto> banks = bankService.readAllDtos();
+        List<ClientDto> clientDtos = clientService.readAllDtos();
+        blackhole.consume(banks);
+        blackhole.consume(clientDtos);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IndexPageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+
+    private void seed() {
+        Bank[] banks = new Bank[BANKS];
+        for (int i = 0; i < BANKS; i++) {
+            banks[i] = new Bank();
+            banks[i].setName("Bank " + i);
+            context.getBean(BankRepository.class).save(banks[i]);
+            for (ClientType type : ClientType.values()) {
+                Commission commission = new Commission();
+                commission.setBank(banks[i]);
+                commission.setClientType(type.ordinal());
+                commission.setCommission(10_000L * (type.ordinal() + 1));
+                context.getBean(CommissionRepository.class).save(commission);
+            }
+        }
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client();
+            client.setName("Client " + i);
+            client.setType(ClientType.values()[i % ClientType.values().length]);
+            context.getBean(ClientRepository.class).save(client);
+            for (Currency currency : new Currency[] {Currency.USD, Currency.EUR}) {
+                BankAccount account = new BankAccount();
+                account.setNumber(i * 2 + currency.ordinal() + 1);
+                account.setCurrency(currency);
+                account.setAmountOfMoney(100_000L);
+                account.setOwner(client);
+                account.setBankProducer(banks[i % BANKS]);
+                context.getBean(BankAccountRepository.class).save(account);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package by.ganevich.service;
+
+import by.ganevich.config.BenchmarkApplicationConfig;
+import by.ganevich.config.PoolMetrics;
+import by.ganevich.entity.Bank;
+import by.ganevich.entity.BankAccount;
+import by.ganevich.entity.Client;
+import by.ganevich.entity.ClientType;
+import by.ganevich.entity.Currency;
+import by.ganevich.entity.Rate;
+import by.ganevich.money.Money;
+import by.ganevich.repository.BankAccountRepository;
+import by.ganevich.repository.BankRepository;
+import by.ganevich.repository.ClientRepository;
+import by.ganevich.repository.RateRepository;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives concurrent {@link TransactionService#sendMoney} calls between random
+ * accounts of one bank, on a new connection per transaction as the former
+ * DriverManagerDataSource ({@code pooled=false}) and on the HikariCP pool.
+ * The sample mode reports the latency percentiles; the physical connections
+ * opened per transfer and the pool metrics are printed after every trial.
+ * The database is an in-memory H2 behind an H2 TCP server, so every physical
+ * connection is a socket connect and login, though a much cheaper one than a
+ * PostgreSQL backend start; {@code benchmark.jdbc.url} points the run at a
+ * PostgreSQL scratch database instead. Not run by the build; start
+ * {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(16)
+@Fork(1)
+public class SendMoneyLoadBenchmark {
+
+    private static final int CLIENTS = 500;
+
+    @Param({"false", "true"})
+    private boolean pooled;
+
+    private final LongAdder transfers = new LongAdder();
+
+    private Server server;
+    private AnnotationConfigApplicationContext context;
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("benchmark.pooled", pooled);
+        String url = System.getProperty("benchmark.jdbc.url");
+        if (url == null) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:send-money;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        } else {
+            properties.put("benchmark.jdbc.user", System.getProperty("benchmark.jdbc.user", ""));
+            properties.put("benchmark.jdbc.password", System.getProperty("benchmark.jdbc.password", ""));
+        }
+        properties.put("benchmark.jdbc.url", url);
+        context = BenchmarkApplicationConfig.start(properties);
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> seed());
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long opened = context.getBean(BenchmarkApplicationConfig.CountingDataSource.class).getOpened();
+        System.out.println();
+        System.out.println(transfers.sum() + " transfers, " + opened + " physical connections opened ("
+                + String.format("%.3f", (double) opened / Math.max(1, transfers.sum())) + " per transfer)");
+        if (pooled) {
+            System.out.println("Pool " + context.getBean(PoolMetrics.class).getMetrics());
+        }
+        context.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public void sendMoney() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sender = random.nextInt(CLIENTS * 2) + 1;
+        int receiver = (sender + random.nextInt(CLIENTS * 2 - 1)) % (CLIENTS * 2) + 1;
+        transactionService.sendMoney(sender, receiver, 100 + random.nextInt(10_000));
+        transfers.increment();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SendMoneyLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private void seed() {
+        long[] rates = {1_000_000L, 1_100_000L, 400_000L};
+        for (Currency currency : Currency.values()) {
+            Rate rate = new Rate();
+            rate.setCurrency(currency.ordinal());
+            rate.setRate(rates[currency.ordinal()]);
+            context.getBean(RateRepository.class).save(rate);
+        }
+
+        Bank bank = new Bank();
+        bank.setName("Benchmark bank");
+        context.getBean(BankRepository.class).save(bank);
+        for (int i = 0; i < CLIENTS; i++) {
+            Client client = new Client();
+            client.setName("Client " + i);
+            client.setType(ClientType.INDIVIDUAL);
+            context.getBean(ClientRepository.class).save(client);
+            for (Currency currency : new Currency[] {Currency.USD, Currency.EUR}) {
+                BankAccount account = new BankAccount();
+                account.setNumber(i * 2 + currency.ordinal() + 1);
+                account.setCurrency(currency);
+                account.setAmountOfMoney(Money.parse("1000000000.00"));
+                account.setOwner(client);
+                account.setBankProducer(bank);
+                context.getBean(BankAccountRepository.class).save(account);
+            }
+        }
+    }
+}